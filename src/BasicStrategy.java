@@ -0,0 +1,310 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// basic strategy compiled from a chart into one flat byte[] indexed by (row, upcard)
+// chart format (csv, # starts a comment):
+//   hand,2,3,4,5,6,7,8,9,T,A        header, upcard columns in this order
+//   12,H,H,S,S,S,H,H,H,H,H          hard total, ranges like 5-8 allowed
+//   A7,S,Ds,Ds,Ds,Ds,S,S,H,H,H      soft total written as ace + other cards
+//   88,P,P,P,P,P,P,P,P,P,P          pair, TT covers every ten-value pair
+// cells: H hit, S stand, D double else hit, Ds double else stand, P split,
+//        Rh / Rs / Rp surrender if allowed else hit / stand / split
+// rows left out hit below 17 and stand from 17, pairs left out play as their total
+public class BasicStrategy implements PlayerStrategy {
+    // compiled cell codes, also indexes into WITH_DOUBLE / WITHOUT_DOUBLE
+    private static final byte HIT = 0;
+    private static final byte STAND = 1;
+    private static final byte DOUBLE_OR_HIT = 2;
+    private static final byte DOUBLE_OR_STAND = 3;
+    private static final byte SPLIT = 4;
+    private static final byte SURRENDER_OR_HIT = 5;
+    private static final byte SURRENDER_OR_STAND = 6;
+    private static final byte SURRENDER_OR_SPLIT = 7;
+    private static final byte UNSET = -1;
+
+    private static final Action[] WITH_DOUBLE = {Action.HIT, Action.STAND, Action.DOUBLE, Action.DOUBLE, Action.SPLIT,
+            Action.HIT, Action.STAND, Action.SPLIT};
+    private static final Action[] WITHOUT_DOUBLE = {Action.HIT, Action.STAND, Action.HIT, Action.STAND, Action.SPLIT,
+            Action.HIT, Action.STAND, Action.SPLIT};
+    private static final boolean[] SURRENDERS = {false, false, false, false, false, true, true, true};
+
+    // table layout: hard totals, soft totals, an always unset row for hands that are not pairs,
+    // then one row per pair rank
+    private static final int TOTAL_ROWS = 32;
+    private static final int SOFT_BASE = TOTAL_ROWS;
+    private static final int NO_PAIR_ROW = 2 * TOTAL_ROWS;
+    private static final int PAIR_BASE = NO_PAIR_ROW + 1;
+    private static final int ROWS = PAIR_BASE + Card.NUM_RANKS;
+    private static final int COLUMNS = 10;
+
+    // upcard column of each rank ordinal: 2-9, ten-value cards, ace
+    private static final int[] UPCARD_COLUMN = {0, 1, 2, 3, 4, 5, 6, 7, 8, 8, 8, 8, 9};
+
+    // multi-deck, dealer stands on soft 17, double after split, late surrender where allowed
+    private static final String MULTI_DECK_S17 = """
+            hand,2,3,4,5,6,7,8,9,T,A
+            5-8,H,H,H,H,H,H,H,H,H,H
+            9,H,D,D,D,D,H,H,H,H,H
+            10,D,D,D,D,D,D,D,D,H,H
+            11,D,D,D,D,D,D,D,D,D,H
+            12,H,H,S,S,S,H,H,H,H,H
+            13-14,S,S,S,S,S,H,H,H,H,H
+            15,S,S,S,S,S,H,H,H,Rh,H
+            16,S,S,S,S,S,H,H,Rh,Rh,Rh
+            17-21,S,S,S,S,S,S,S,S,S,S
+            A2-A3,H,H,H,D,D,H,H,H,H,H
+            A4-A5,H,H,D,D,D,H,H,H,H,H
+            A6,H,D,D,D,D,H,H,H,H,H
+            A7,S,Ds,Ds,Ds,Ds,S,S,H,H,H
+            A8-A10,S,S,S,S,S,S,S,S,S,S
+            22,P,P,P,P,P,P,H,H,H,H
+            33,P,P,P,P,P,P,H,H,H,H
+            44,H,H,H,P,P,H,H,H,H,H
+            55,D,D,D,D,D,D,D,D,H,H
+            66,P,P,P,P,P,H,H,H,H,H
+            77,P,P,P,P,P,P,H,H,H,H
+            88,P,P,P,P,P,P,P,P,P,P
+            99,P,P,P,P,P,S,P,P,S,S
+            TT,S,S,S,S,S,S,S,S,S,S
+            AA,P,P,P,P,P,P,P,P,P,P
+            """;
+
+    // multi-deck, dealer hits soft 17, double after split, late surrender where allowed
+    private static final String MULTI_DECK_H17 = """
+            hand,2,3,4,5,6,7,8,9,T,A
+            5-8,H,H,H,H,H,H,H,H,H,H
+            9,H,D,D,D,D,H,H,H,H,H
+            10,D,D,D,D,D,D,D,D,H,H
+            11,D,D,D,D,D,D,D,D,D,D
+            12,H,H,S,S,S,H,H,H,H,H
+            13-14,S,S,S,S,S,H,H,H,H,H
+            15,S,S,S,S,S,H,H,H,Rh,Rh
+            16,S,S,S,S,S,H,H,Rh,Rh,Rh
+            17,S,S,S,S,S,S,S,S,S,Rs
+            18-21,S,S,S,S,S,S,S,S,S,S
+            A2-A3,H,H,H,D,D,H,H,H,H,H
+            A4-A5,H,H,D,D,D,H,H,H,H,H
+            A6,H,D,D,D,D,H,H,H,H,H
+            A7,Ds,Ds,Ds,Ds,Ds,S,S,H,H,H
+            A8,S,S,S,S,Ds,S,S,S,S,S
+            A9-A10,S,S,S,S,S,S,S,S,S,S
+            22,P,P,P,P,P,P,H,H,H,H
+            33,P,P,P,P,P,P,H,H,H,H
+            44,H,H,H,P,P,H,H,H,H,H
+            55,D,D,D,D,D,D,D,D,H,H
+            66,P,P,P,P,P,H,H,H,H,H
+            77,P,P,P,P,P,P,H,H,H,H
+            88,P,P,P,P,P,P,P,P,P,Rp
+            99,P,P,P,P,P,S,P,P,S,S
+            TT,S,S,S,S,S,S,S,S,S,S
+            AA,P,P,P,P,P,P,P,P,P,P
+            """;
+
+    // pairs that stop being worth splitting when the new hands cannot double, laid over either chart
+    private static final String NO_DOUBLE_AFTER_SPLIT = """
+            hand,2,3,4,5,6,7,8,9,T,A
+            22,H,H,P,P,P,P,H,H,H,H
+            33,H,H,P,P,P,P,H,H,H,H
+            44,H,H,H,H,H,H,H,H,H,H
+            66,H,P,P,P,P,H,H,H,H,H
+            """;
+
+    private static final BasicStrategy MULTI_DECK = parse(MULTI_DECK_S17);
+
+    private final byte[] table = new byte[ROWS * COLUMNS];
+
+    private BasicStrategy() {
+        for (int total = 0; total < TOTAL_ROWS; total++) {
+            byte code = total < 17 ? HIT : STAND;
+            for (int column = 0; column < COLUMNS; column++) {
+                table[total * COLUMNS + column] = code;
+                table[(SOFT_BASE + total) * COLUMNS + column] = code;
+            }
+        }
+        for (int i = NO_PAIR_ROW * COLUMNS; i < table.length; i++) {
+            table[i] = UNSET;
+        }
+    }
+
+    // the built-in chart for the standard rules (stateless, safe to share between threads)
+    public static BasicStrategy multiDeck() {
+        return MULTI_DECK;
+    }
+
+    // the built-in chart matching the soft 17 and double after split rules of a table
+    // surrender cells only apply where the table offers it, blackjack payout and split limits do not
+    // change the chart
+    public static BasicStrategy forRules(TableRules rules) {
+        BasicStrategy strategy = new BasicStrategy();
+        strategy.fill(rules.isDealerHitsSoft17() ? MULTI_DECK_H17 : MULTI_DECK_S17);
+        if (!rules.isDoubleAfterSplit()) {
+            strategy.fill(NO_DOUBLE_AFTER_SPLIT);
+        }
+        return strategy;
+    }
+
+    public static BasicStrategy load(Path file) throws IOException {
+        return parse(Files.readString(file));
+    }
+
+    public static BasicStrategy parse(String chart) {
+        BasicStrategy strategy = new BasicStrategy();
+        strategy.fill(chart);
+        return strategy;
+    }
+
+    // compiles the chart's rows over whatever the table already holds
+    private void fill(String chart) {
+        boolean headerSeen = false;
+        String[] lines = chart.split("\\R");
+        for (int lineNumber = 1; lineNumber <= lines.length; lineNumber++) {
+            String line = lines[lineNumber - 1];
+            int comment = line.indexOf('#');
+            if (comment >= 0) {
+                line = line.substring(0, comment);
+            }
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] cells = line.split(",");
+            if (!headerSeen) {
+                checkHeader(cells, lineNumber);
+                headerSeen = true;
+                continue;
+            }
+            if (cells.length != COLUMNS + 1) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected " + (COLUMNS + 1)
+                        + " cells but found " + cells.length);
+            }
+            byte[] codes = new byte[COLUMNS];
+            for (int column = 0; column < COLUMNS; column++) {
+                codes[column] = parseCell(cells[column + 1].trim(), lineNumber);
+            }
+            fillRows(cells[0].trim(), codes, lineNumber);
+        }
+        if (!headerSeen) {
+            throw new IllegalArgumentException("Strategy chart is empty");
+        }
+    }
+
+    private static void checkHeader(String[] cells, int lineNumber) {
+        String[] expected = {"2", "3", "4", "5", "6", "7", "8", "9", "T", "A"};
+        boolean matches = cells.length == COLUMNS + 1;
+        for (int column = 0; matches && column < COLUMNS; column++) {
+            matches = cells[column + 1].trim().equalsIgnoreCase(expected[column]);
+        }
+        if (!matches) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": header must be hand,2,3,4,5,6,7,8,9,T,A");
+        }
+    }
+
+    private static byte parseCell(String cell, int lineNumber) {
+        switch (cell.toUpperCase()) {
+            case "H":
+                return HIT;
+            case "S":
+                return STAND;
+            case "D":
+                return DOUBLE_OR_HIT;
+            case "DS":
+                return DOUBLE_OR_STAND;
+            case "P":
+                return SPLIT;
+            case "RH":
+                return SURRENDER_OR_HIT;
+            case "RS":
+                return SURRENDER_OR_STAND;
+            case "RP":
+                return SURRENDER_OR_SPLIT;
+            default:
+                throw new IllegalArgumentException("Line " + lineNumber + ": unknown action " + cell);
+        }
+    }
+
+    private void fillRows(String label, byte[] codes, int lineNumber) {
+        String upper = label.toUpperCase();
+        // 11 is a hard total, every other doubled character is a pair
+        if (upper.length() == 2 && upper.charAt(0) == upper.charAt(1) && upper.charAt(0) != '1') {
+            fillPair(upper.charAt(0), codes, lineNumber);
+            return;
+        }
+
+        boolean soft = upper.startsWith("A");
+        String range = soft ? upper.replace("A", "") : upper;
+        int dash = range.indexOf('-');
+        int from;
+        int to;
+        try {
+            from = Integer.parseInt(range.substring(0, dash < 0 ? range.length() : dash));
+            to = dash < 0 ? from : Integer.parseInt(range.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": unknown hand " + label);
+        }
+        // soft rows are labelled by the cards besides the ace, A7 is soft 18
+        if (soft) {
+            from += 11;
+            to += 11;
+        }
+        if (from < 2 || to >= TOTAL_ROWS || from > to || soft && from < 12) {
+            throw new IllegalArgumentException("Line " + lineNumber + ": hand out of range " + label);
+        }
+        int base = soft ? SOFT_BASE : 0;
+        for (int total = from; total <= to; total++) {
+            System.arraycopy(codes, 0, table, (base + total) * COLUMNS, COLUMNS);
+        }
+    }
+
+    private void fillPair(char rank, byte[] codes, int lineNumber) {
+        int first;
+        int last;
+        if (rank >= '2' && rank <= '9') {
+            first = last = rank - '2';
+        } else if (rank == 'T') {
+            first = Card.Rank.TEN.ordinal();
+            last = Card.Rank.KING.ordinal();
+        } else if (rank == 'A') {
+            first = last = Card.Rank.ACE.ordinal();
+        } else {
+            throw new IllegalArgumentException("Line " + lineNumber + ": unknown pair " + rank + rank);
+        }
+        for (int pairRank = first; pairRank <= last; pairRank++) {
+            System.arraycopy(codes, 0, table, (PAIR_BASE + pairRank) * COLUMNS, COLUMNS);
+        }
+    }
+
+    // the compiled table, one digit per cell with 0 for unset pair cells
+    // strategies that play every hand alike give the same string, e.g. for sweep cache keys
+    public String fingerprint() {
+        StringBuilder sb = new StringBuilder(table.length);
+        for (byte code : table) {
+            sb.append((char) ('1' + code));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public Action decide(int handState, Card dealerUpCard, boolean canDouble, boolean canSplit) {
+        int column = UPCARD_COLUMN[dealerUpCard.getRank().ordinal()];
+        int totalRow = (Hand.stateIsSoft(handState) ? SOFT_BASE : 0) + Hand.stateTotal(handState);
+        byte code = table[totalRow * COLUMNS + column];
+
+        // statePairRank is -1 for hands that are not pairs, which lands on NO_PAIR_ROW
+        byte pairCode = table[(PAIR_BASE + Hand.statePairRank(handState)) * COLUMNS + column];
+        if (pairCode != UNSET && (WITH_DOUBLE[pairCode] != Action.SPLIT || canSplit)) {
+            code = pairCode;
+        }
+        return canDouble ? WITH_DOUBLE[code] : WITHOUT_DOUBLE[code];
+    }
+
+    @Override
+    public boolean surrender(int handState, Card dealerUpCard) {
+        int column = UPCARD_COLUMN[dealerUpCard.getRank().ordinal()];
+        int totalRow = (Hand.stateIsSoft(handState) ? SOFT_BASE : 0) + Hand.stateTotal(handState);
+        byte code = table[(PAIR_BASE + Hand.statePairRank(handState)) * COLUMNS + column];
+        if (code == UNSET) {
+            code = table[totalRow * COLUMNS + column];
+        }
+        return SURRENDERS[code];
+    }
+}
@@ -1,3 +1,5 @@
+import java.util.Arrays;
+
 
 public class Bet {
     private double amount;
@@ -5,18 +7,16 @@ public class Bet {
     private boolean isSplit;
     private BetResult result;
     private double insuranceBet;
-    private double pairBet;
-    private double twentyOnePlusThreeBet;
+    // stakes indexed by the table's SideBetTable index, null until a side bet is placed
+    private double[] sideBetStakes;
 
     public enum BetResult {
-        PENDING, WIN, LOSE, PUSH, BLACKJACK
+        PENDING, WIN, LOSE, PUSH, BLACKJACK, SURRENDER
     }
     
     public Bet(double amount) {
         this.amount = amount;
         this.insuranceBet = 0;
-        this.pairBet = 0;
-        this.twentyOnePlusThreeBet = 0;
         this.isDoubled = false;
         this.isSplit = false;
         this.result = BetResult.PENDING;
@@ -54,19 +54,13 @@ public class Bet {
         return result;
     }
     
+    // money returned for this bet under the standard rules, stake included
     public double getPayout() {
-        switch (result) {
-            case WIN:
-                return (amount * 2);
-            case BLACKJACK:
-                return amount * 2.5;
-            case PUSH:
-                return amount;
-            case LOSE:		//w trickle down
-            case PENDING:
-            default:
-                return 0;
-        }
+        return getPayout(TableRules.STANDARD);
+    }
+
+    public double getPayout(TableRules rules) {
+        return amount * rules.getPayoutMultiplier(result);
     }
 
     public void placeInsuranceBet(double insuranceAmount) {
@@ -84,27 +78,25 @@ public class Bet {
         return insuranceBet > 0;
     }
 
-    public void placePairBet(double pairAmount) {
-        this.pairBet = pairAmount;
-    }
-
-    public boolean isPairBetPlaced() {
-        return pairBet > 0;
-    }
-
-    public double getCurrentPairBet() {
-        return pairBet;
+    public void placeSideBet(int sideBetIndex, double amount) {
+        if (sideBetStakes == null || sideBetStakes.length <= sideBetIndex) {
+            sideBetStakes = sideBetStakes == null
+                    ? new double[sideBetIndex + 1]
+                    : Arrays.copyOf(sideBetStakes, sideBetIndex + 1);
+        }
+        sideBetStakes[sideBetIndex] = amount;
     }
 
-    public void placeTwentyOnePlusThreeBet(double amount) {
-        this.twentyOnePlusThreeBet = amount;
+    public boolean hasSideBets() {
+        return sideBetStakes != null;
     }
 
-    public boolean isTwentyOnePlusThreeBetPlaced() {
-        return twentyOnePlusThreeBet > 0;
+    public boolean isSideBetPlaced(int sideBetIndex) {
+        return getSideBetStake(sideBetIndex) > 0;
     }
 
-    public double getCurrentTwentyOnePlusThreeBet() {
-        return twentyOnePlusThreeBet;
+    public double getSideBetStake(int sideBetIndex) {
+        return sideBetStakes != null && sideBetIndex >= 0 && sideBetIndex < sideBetStakes.length
+                ? sideBetStakes[sideBetIndex] : 0;
     }
 }
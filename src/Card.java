@@ -13,36 +13,69 @@ public class Card {
         public String getSymbol() {
             return symbol;
         }
+
+        public boolean isRed() {
+            return this == HEARTS || this == DIAMONDS;
+        }
     }
     
     public enum Rank {
-        TWO(2, 1), THREE(3, 1), FOUR(4, 1), FIVE(5, 1), SIX(6, 1),
-        SEVEN(7, 0), EIGHT(8, 0), NINE(9, 0),
-        TEN(10, -1), JACK(10, -1), QUEEN(10, -1), KING(10, -1), ACE(11, -1);
+        TWO(2), THREE(3), FOUR(4), FIVE(5), SIX(6),
+        SEVEN(7), EIGHT(8), NINE(9),
+        TEN(10), JACK(10), QUEEN(10), KING(10), ACE(11);
         
         private final int value;
-        private final int countValue;
         
-        Rank(int value, int countValue) {
+        Rank(int value) {
             this.value = value;
-            this.countValue = countValue;
         }
         
         public int getValue() {
             return value;
         }
-        
-        public int getCountValue() {
-            return countValue;
-        }
     }
     
-    private Suit suit;
-    private Rank rank;
+    public static final int NUM_SUITS = 4;
+    public static final int NUM_RANKS = 13;
+    public static final int NUM_CARDS = 52;
+
+    // the only Card instances, indexed by code
+    private static final Card[] CARDS = new Card[NUM_CARDS];
+    static {
+        for (Suit suit : Suit.values()) {
+            for (Rank rank : Rank.values()) {
+                Card card = new Card(suit, rank);
+                CARDS[card.code] = card;
+            }
+        }
+    }
+
+    private final Suit suit;
+    private final Rank rank;
+    private final int code;
     
-    public Card(Suit suit, Rank rank) {
+    private Card(Suit suit, Rank rank) {
         this.suit = suit;
         this.rank = rank;
+        this.code = suit.ordinal() * NUM_RANKS + rank.ordinal();
+    }
+
+    public static Card of(Suit suit, Rank rank) {
+        return CARDS[suit.ordinal() * NUM_RANKS + rank.ordinal()];
+    }
+
+    public static Card of(int code) {
+        return CARDS[code];
+    }
+
+    // rank ordinal of a card code
+    public static int rankOf(int code) {
+        return code % NUM_RANKS;
+    }
+
+    // suit ordinal of a card code
+    public static int suitOf(int code) {
+        return code / NUM_RANKS;
     }
     
     public Suit getSuit() {
@@ -57,8 +90,9 @@ public class Card {
         return rank.getValue();
     }
     
-    public int getCountValue() {
-        return rank.getCountValue();
+    // stable index in [0, 52): suit * 13 + rank
+    public int code() {
+        return code;
     }
     
 }
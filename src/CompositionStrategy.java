@@ -0,0 +1,76 @@
+// plays the action with the highest expected value for the cards the player has not seen yet
+// the EVs are ExpectedValueCalculator's, by default approximate: dealer odds are fixed at the decision
+// and split hands draw independently; getCalculator().setExactDealerDraws(true) trades speed for the
+// exact dealer odds
+// reads the shoe of the game it is given, so every game needs its own instance
+// an optional TranspositionCache, which can be shared by every worker, keeps the EVs of decisions
+// already solved for the same unseen cards, share it only between games with the same rules
+public class CompositionStrategy implements PlayerStrategy {
+    private static final int ACTIONS = Action.values().length;
+
+    private final Game game;
+    private final ExpectedValueCalculator calculator;
+    private final TranspositionCache cache;
+    private final double[] cached = new double[ACTIONS];
+
+    public CompositionStrategy(Game game) {
+        this(game, null);
+    }
+
+    public CompositionStrategy(Game game, TranspositionCache cache) {
+        if (cache != null && cache.getValueWidth() != ACTIONS) {
+            throw new IllegalArgumentException("Cache must hold " + ACTIONS + " values per entry");
+        }
+        this.game = game;
+        this.calculator = new ExpectedValueCalculator(game.getRules());
+        this.cache = cache;
+    }
+
+    // a cache sized for this strategy
+    public static TranspositionCache newCache(int capacity) {
+        return new TranspositionCache(capacity, ACTIONS);
+    }
+
+    @Override
+    public Action decide(int handState, Card dealerUpCard, boolean canDouble, boolean canSplit) {
+        return calculator.bestAction(expectedValues(handState, dealerUpCard, canDouble, canSplit));
+    }
+
+    // surrenders when playing the hand on is worth less than surrendering it
+    @Override
+    public boolean surrender(int handState, Card dealerUpCard) {
+        double[] ev = expectedValues(handState, dealerUpCard, game.canDouble(0), game.canSplit(0));
+        double best = ev[calculator.bestAction(ev).ordinal()];
+        return best < calculator.surrenderValue(dealerUpCard, game.getUnseenValueCounts());
+    }
+
+    private double[] expectedValues(int handState, Card dealerUpCard, boolean canDouble, boolean canSplit) {
+        long key = cache != null ? key(handState, dealerUpCard, canDouble, canSplit) : 0;
+        if (cache != null && cache.get(key, cached)) {
+            return cached;
+        }
+        int pairRank = Hand.statePairRank(handState);
+        int pairRankCount = pairRank >= 0 ? game.getUnseenRankCount(pairRank) : 0;
+        double[] ev = calculator.evaluate(handState, dealerUpCard, game.getUnseenValueCounts(), pairRankCount,
+                canDouble, canSplit);
+        if (cache != null) {
+            cache.put(key, ev);
+        }
+        return ev;
+    }
+
+    // the unseen composition's Zobrist hash with the decision hashed in as one more feature
+    private long key(int handState, Card dealerUpCard, boolean canDouble, boolean canSplit) {
+        int decision = (handState & 0x1FFFFF) | dealerUpCard.getRank().ordinal() << 21
+                | (canDouble ? 1 << 25 : 0) | (canSplit ? 1 << 26 : 0);
+        return game.getUnseenCompositionHash() ^ Deck.zobrist(Card.NUM_RANKS, decision);
+    }
+
+    public ExpectedValueCalculator getCalculator() {
+        return calculator;
+    }
+
+    public TranspositionCache getCache() {
+        return cache;
+    }
+}
@@ -0,0 +1,209 @@
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
+// continuous shuffling machine: cards dealt go to the discards and, once the round is over, back
+// into the machine at random positions, so the shoe never runs down and never needs a reshuffle
+// the machine keeps bufferSize cards already pushed out into the dealing shoe, in a fixed order
+// discards cannot reach; the rest of the machine is one uniformly random pile
+// a card put into a random pile at a random position leaves it uniformly random, so the pile is
+// kept unordered like Deck's lazy Fisher-Yates: returning a discard appends it, and dealing picks
+// a random pile card into the buffer, one random number per card, the same cost as Deck
+public final class ContinuousShuffler implements Shoe {
+    private final int numDecks;
+    private final int bufferSize;
+    private RandomGenerator random;
+    // ring of every card not in the discards: [head, head + buffered) the dealing buffer in deal
+    // order, then pooled cards of the machine in no order
+    private final int[] ring;
+    private int head;
+    private int buffered;
+    private int pooled;
+    // cards dealt since the last collectDiscards
+    private final int[] discards;
+    private int discardCount;
+    private final int[] rankCounts = new int[Card.NUM_RANKS]; // dealing buffer and machine together
+    private long compositionHash; // see Deck.getCompositionHash()
+
+    public ContinuousShuffler(int numDecks, int bufferSize) {
+        this(numDecks, bufferSize, RandomAlgorithm.L64X128_MIX.create());
+    }
+
+    // bufferSize 0 lets a discard come straight back as the next card after the round
+    public ContinuousShuffler(int numDecks, int bufferSize, RandomGenerator random) {
+        if (numDecks < 1) {
+            throw new IllegalArgumentException("Need at least one deck: " + numDecks);
+        }
+        if (bufferSize < 0 || bufferSize > numDecks * Card.NUM_CARDS) {
+            throw new IllegalArgumentException("Buffer must hold between 0 and all of the cards: " + bufferSize);
+        }
+        this.numDecks = numDecks;
+        this.bufferSize = bufferSize;
+        this.random = random;
+        this.ring = new int[numDecks * Card.NUM_CARDS];
+        this.discards = new int[ring.length];
+        reset();
+    }
+
+    @Override
+    public Card drawCard() {
+        return Card.of(drawCode());
+    }
+
+    @Override
+    public int drawCode() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Continuous shuffler is empty");
+        }
+        if (buffered == 0) {
+            deliver();
+        }
+        int code = ring[head];
+        head = wrap(head + 1);
+        buffered--;
+        discards[discardCount++] = code;
+        int rank = Card.rankOf(code);
+        int count = rankCounts[rank]--;
+        compositionHash ^= Deck.zobrist(rank, count) ^ Deck.zobrist(rank, count - 1);
+        // the machine tops the dealing buffer back up as the card leaves
+        if (buffered < bufferSize && pooled > 0) {
+            deliver();
+        }
+        return code;
+    }
+
+    // moves a random machine card to the back of the dealing buffer
+    private void deliver() {
+        int back = wrap(head + buffered);
+        int pick = wrap(back + random.nextInt(pooled));
+        int temp = ring[back];
+        ring[back] = ring[pick];
+        ring[pick] = temp;
+        buffered++;
+        pooled--;
+    }
+
+    @Override
+    public Card peek() {
+        if (isEmpty()) {
+            return null;
+        }
+        // fix the pick so the next draw returns the card that was peeked
+        if (buffered == 0) {
+            deliver();
+        }
+        return Card.of(ring[head]);
+    }
+
+    // the discards go back behind the dealing buffer, anywhere in the machine
+    @Override
+    public void collectDiscards(IntConsumer returned) {
+        for (int i = 0; i < discardCount; i++) {
+            int code = discards[i];
+            returned.accept(code);
+            ring[wrap(head + buffered + pooled)] = code;
+            pooled++;
+            int rank = Card.rankOf(code);
+            int count = rankCounts[rank]++;
+            compositionHash ^= Deck.zobrist(rank, count) ^ Deck.zobrist(rank, count + 1);
+        }
+        discardCount = 0;
+        while (buffered < bufferSize && pooled > 0) {
+            deliver();
+        }
+    }
+
+    private int wrap(int index) {
+        return index >= ring.length ? index - ring.length : index;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return buffered + pooled == 0;
+    }
+
+    @Override
+    public int getCardsRemaining() {
+        return buffered + pooled;
+    }
+
+    @Override
+    public int getNumDecks() {
+        return numDecks;
+    }
+
+    @Override
+    public double getDecksRemaining() {
+        return getCardsRemaining() / (double) Card.NUM_CARDS;
+    }
+
+    @Override
+    public int getRankCount(Card.Rank rank) {
+        return rankCounts[rank.ordinal()];
+    }
+
+    @Override
+    public long getCompositionHash() {
+        return compositionHash;
+    }
+
+    // every card back in the machine, discards included, and a fresh dealing buffer
+    @Override
+    public void reset() {
+        Deck.fillShoe(ring, numDecks);
+        head = 0;
+        buffered = 0;
+        pooled = ring.length;
+        discardCount = 0;
+        Arrays.fill(rankCounts, numDecks * Card.NUM_SUITS);
+        compositionHash = Deck.compositionHash(rankCounts);
+        while (buffered < bufferSize) {
+            deliver();
+        }
+    }
+
+    @Override
+    public void reset(RandomGenerator random) {
+        this.random = random;
+        reset();
+    }
+
+    // loads the machine from a shuffled shoe, dealt in that order until discards come back
+    @Override
+    public int[] swapShoe(int[] shuffledShoe) {
+        if (shuffledShoe.length != ring.length) {
+            throw new IllegalArgumentException("Shoe must hold " + ring.length + " cards");
+        }
+        System.arraycopy(shuffledShoe, 0, ring, 0, ring.length);
+        head = 0;
+        buffered = ring.length; // already in a random order
+        pooled = 0;
+        discardCount = 0;
+        Arrays.fill(rankCounts, numDecks * Card.NUM_SUITS);
+        compositionHash = Deck.compositionHash(rankCounts);
+        return shuffledShoe;
+    }
+
+    // the machine always deals real cards, suits included
+    @Override
+    public void setRankOnly(boolean rankOnly) {
+    }
+
+    @Override
+    public boolean isRankOnly() {
+        return false;
+    }
+
+    @Override
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getDiscardCount() {
+        return discardCount;
+    }
+}
@@ -0,0 +1,131 @@
+// keeps the running counts of any number of counting systems over the same cards
+// every card updates all of them in one pass over a table of tags laid out by rank
+public final class CountTracker implements ShoeObserver {
+    private static final int ACE = Card.Rank.ACE.ordinal();
+    private static final int ACES_PER_DECK = 4;
+
+    private final CountingSystem[] systems;
+    private final int[] rankTags; // [rank * systems + system], scaled like each system
+    private final int[] runningCounts; // scaled
+    private int numDecks;
+    private int cardsSeen;
+    private int acesSeen;
+
+    public CountTracker(int numDecks, CountingSystem... systems) {
+        if (systems.length == 0) {
+            throw new IllegalArgumentException("At least one counting system is required");
+        }
+        this.systems = systems.clone();
+        this.rankTags = new int[Card.NUM_RANKS * systems.length];
+        for (int rank = 0; rank < Card.NUM_RANKS; rank++) {
+            for (int i = 0; i < systems.length; i++) {
+                rankTags[rank * systems.length + i] = systems[i].getTag(rank);
+            }
+        }
+        this.runningCounts = new int[systems.length];
+        reset(numDecks);
+    }
+
+    public void count(int code) {
+        int rank = Card.rankOf(code);
+        int base = rank * runningCounts.length;
+        for (int i = 0; i < runningCounts.length; i++) {
+            runningCounts[i] += rankTags[base + i];
+        }
+        cardsSeen++;
+        if (rank == ACE) {
+            acesSeen++;
+        }
+    }
+
+    // takes a counted card back out, e.g. a discard returned to a continuous shuffler
+    public void uncount(int code) {
+        int rank = Card.rankOf(code);
+        int base = rank * runningCounts.length;
+        for (int i = 0; i < runningCounts.length; i++) {
+            runningCounts[i] -= rankTags[base + i];
+        }
+        cardsSeen--;
+        if (rank == ACE) {
+            acesSeen--;
+        }
+    }
+
+    public void reset(int numDecks) {
+        this.numDecks = numDecks;
+        this.cardsSeen = 0;
+        this.acesSeen = 0;
+        for (int i = 0; i < systems.length; i++) {
+            runningCounts[i] = systems[i].getInitialRunningCount(numDecks);
+        }
+    }
+
+    @Override
+    public void onCardDrawn(int code) {
+        count(code);
+    }
+
+    @Override
+    public void onCardReturned(int code) {
+        uncount(code);
+    }
+
+    @Override
+    public void onShoeReset(int numDecks) {
+        reset(numDecks);
+    }
+
+    public int getSystemCount() {
+        return systems.length;
+    }
+
+    public CountingSystem getSystem(int index) {
+        return systems[index];
+    }
+
+    // position of the system in this tracker, or -1 if it is not tracked
+    public int indexOf(CountingSystem system) {
+        for (int i = 0; i < systems.length; i++) {
+            if (systems[i] == system) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public double getRunningCount(int index) {
+        return runningCounts[index] / (double) systems[index].getScale();
+    }
+
+    public double getTrueCount(int index) {
+        double decksRemaining = getDecksRemaining();
+        return decksRemaining > 0 ? getRunningCount(index) / decksRemaining : 0;
+    }
+
+    // running count plus the ace side count adjustment, same as the running count without a side count
+    public double getBettingCount(int index) {
+        return getRunningCount(index) + systems[index].getAceSideCountWeight() * getSurplusAces();
+    }
+
+    // aces left in the unseen cards minus the number an average shoe would have left
+    public double getSurplusAces() {
+        int acesRemaining = ACES_PER_DECK * numDecks - acesSeen;
+        return acesRemaining - getCardsRemaining() / (double) Card.NUM_RANKS;
+    }
+
+    public int getCardsSeen() {
+        return cardsSeen;
+    }
+
+    public int getAcesSeen() {
+        return acesSeen;
+    }
+
+    public int getCardsRemaining() {
+        return numDecks * Card.NUM_CARDS - cardsSeen;
+    }
+
+    public double getDecksRemaining() {
+        return getCardsRemaining() / (double) Card.NUM_CARDS;
+    }
+}
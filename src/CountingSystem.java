@@ -0,0 +1,104 @@
+import java.util.List;
+
+// a card counting system: one integer tag per rank, applied to every card seen
+// fractional systems keep integer tags multiplied by scale, e.g. Wong Halves counts in halves
+public final class CountingSystem {
+    public static final CountingSystem HI_LO = new CountingSystem("Hi-Lo",
+            new int[] {1, 1, 1, 1, 1, 0, 0, 0, -1, -1}, 1, 0, 0);
+    // unbalanced, starts at 4 - 4 * decks so the key count is the same for any shoe size
+    public static final CountingSystem KO = new CountingSystem("KO",
+            new int[] {1, 1, 1, 1, 1, 1, 0, 0, -1, -1}, 1, 4, 0);
+    // aces are tagged 0 and kept in a side count, each surplus ace left adds 2 to the betting count
+    public static final CountingSystem HI_OPT_II = new CountingSystem("Hi-Opt II",
+            new int[] {1, 1, 2, 2, 1, 1, 0, 0, -2, 0}, 1, 0, 2);
+    public static final CountingSystem OMEGA_II = new CountingSystem("Omega II",
+            new int[] {1, 1, 2, 2, 2, 1, 0, -1, -2, 0}, 1, 0, 0);
+    public static final CountingSystem WONG_HALVES = new CountingSystem("Wong Halves",
+            new int[] {1, 2, 2, 3, 2, 1, 0, -1, -2, -2}, 2, 0, 0);
+    public static final CountingSystem ZEN = new CountingSystem("Zen",
+            new int[] {1, 1, 2, 2, 2, 1, 0, 0, -2, -1}, 1, 0, 0);
+
+    public static final List<CountingSystem> BUILT_IN = List.of(HI_LO, KO, HI_OPT_II, OMEGA_II, WONG_HALVES, ZEN);
+
+    private final String name;
+    private final int[] tags; // indexed by rank ordinal, already scaled
+    private final int scale;
+    private final int initialCountPerDeck;
+    private final int aceSideCountWeight;
+
+    // valueTags holds the tags of 2, 3, 4, 5, 6, 7, 8, 9, ten-value cards and ace in that order
+    // the running count starts at initialCountPerDeck * (1 - decks), 0 for balanced systems
+    public CountingSystem(String name, int[] valueTags, int scale, int initialCountPerDeck,
+            int aceSideCountWeight) {
+        if (valueTags.length != 10) {
+            throw new IllegalArgumentException(name + " needs 10 tags (2-9, ten, ace) but has " + valueTags.length);
+        }
+        if (scale < 1) {
+            throw new IllegalArgumentException(name + " scale must be at least 1");
+        }
+        this.name = name;
+        this.tags = new int[Card.NUM_RANKS];
+        for (Card.Rank rank : Card.Rank.values()) {
+            int value = rank.getValue();
+            tags[rank.ordinal()] = valueTags[value - 2];
+        }
+        this.scale = scale;
+        this.initialCountPerDeck = initialCountPerDeck;
+        this.aceSideCountWeight = aceSideCountWeight;
+    }
+
+    // a built-in system by name, case, spaces and punctuation ignored, so "Hi-Lo" and "HI_LO" both work
+    public static CountingSystem forName(String name) {
+        String wanted = normalize(name);
+        for (CountingSystem system : BUILT_IN) {
+            if (normalize(system.name).equals(wanted)) {
+                return system;
+            }
+        }
+        throw new IllegalArgumentException("Unknown counting system: " + name);
+    }
+
+    private static String normalize(String name) {
+        return name.replaceAll("[^A-Za-z0-9]", "").toLowerCase();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // tag of a rank ordinal, multiplied by getScale()
+    public int getTag(int rank) {
+        return tags[rank];
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    // scaled running count of a full shoe before any card is seen
+    public int getInitialRunningCount(int numDecks) {
+        return initialCountPerDeck * (1 - numDecks) * scale;
+    }
+
+    public boolean isBalanced() {
+        int sum = 0;
+        for (int tag : tags) {
+            sum += tag;
+        }
+        return sum == 0;
+    }
+
+    // betting count points per surplus ace left in the shoe, 0 when the system keeps no ace side count
+    public int getAceSideCountWeight() {
+        return aceSideCountWeight;
+    }
+
+    public boolean hasAceSideCount() {
+        return aceSideCountWeight != 0;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -2,9 +2,15 @@ public class Dealer {
 	//wip very same to player. need to lookout for isDealer & hideCard in Hand class
 	
 	private Hand hand;
+    private final TableRules rules;
     
     public Dealer() {
+        this(TableRules.STANDARD);
+    }
+
+    public Dealer(TableRules rules) {
         this.hand = new Hand();
+        this.rules = rules;
     }
     
     public void addCard(Card card) {
@@ -23,9 +29,9 @@ public class Dealer {
         hand.setHideSecondCard(false);
     }
     
+    // soft 17 is looked up in the table's compiled drawing rule
     public boolean mustHit() {
-        // some casinos hit on soft 17, but we'll stand on all 17s
-        return hand.getValue() < 17;
+        return rules.dealerHits(hand.getValue(), hand.isSoft());
     }
     
     public boolean isBust() {
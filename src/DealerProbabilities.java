@@ -0,0 +1,180 @@
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// exact odds of each dealer result for a given upcard and the cards left unseen, hole card included
+// plays out every possible draw under the table's dealer rule without replacement, results are kept in a
+// bounded least recently used cache keyed by (upcard, composition) since EV code asks for the
+// same compositions over and over
+// not thread safe, give each worker its own
+public class DealerProbabilities {
+    // outcome indexes of the returned arrays
+    public static final int SEVENTEEN = 0;
+    public static final int EIGHTEEN = 1;
+    public static final int NINETEEN = 2;
+    public static final int TWENTY = 3;
+    public static final int TWENTY_ONE = 4;
+    public static final int BLACKJACK = 5;
+    public static final int BUST = 6;
+    public static final int NUM_OUTCOMES = 7;
+
+    // cards are grouped by value: 2-9, ten-value cards, ace
+    public static final int NUM_VALUES = 10;
+    private static final int ACE = NUM_VALUES - 1;
+
+    // value index of each rank ordinal
+    private static final int[] VALUE_INDEX = new int[Card.NUM_RANKS];
+    static {
+        for (Card.Rank rank : Card.Rank.values()) {
+            VALUE_INDEX[rank.ordinal()] = rank.getValue() - 2;
+        }
+    }
+
+    public static final int DEFAULT_CACHE_SIZE = 50_000;
+
+    private final TableRules rules;
+    private final Map<Long, Entry> cache;
+    private final int[] counts = new int[NUM_VALUES]; // scratch composition, restored after every draw
+    private long cacheHits;
+    private long cacheMisses;
+
+    public DealerProbabilities() {
+        this(DEFAULT_CACHE_SIZE);
+    }
+
+    public DealerProbabilities(int maxCacheEntries) {
+        this(TableRules.STANDARD, maxCacheEntries);
+    }
+
+    public DealerProbabilities(TableRules rules) {
+        this(rules, DEFAULT_CACHE_SIZE);
+    }
+
+    public DealerProbabilities(TableRules rules, int maxCacheEntries) {
+        this.rules = rules;
+        if (maxCacheEntries < 1) {
+            throw new IllegalArgumentException("Cache must hold at least one entry");
+        }
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Entry> eldest) {
+                return size() > maxCacheEntries;
+            }
+        };
+    }
+
+    // value index (0-9) of a rank ordinal
+    public static int valueIndex(int rank) {
+        return VALUE_INDEX[rank];
+    }
+
+    // collapses counts per rank ordinal into counts per value index
+    public static int[] valueCounts(int[] rankCounts) {
+        int[] values = new int[NUM_VALUES];
+        for (int rank = 0; rank < Card.NUM_RANKS; rank++) {
+            values[VALUE_INDEX[rank]] += rankCounts[rank];
+        }
+        return values;
+    }
+
+    // probabilities indexed by SEVENTEEN ... BUST, summing to 1
+    // valueCounts holds the unseen cards per value index and must not include the upcard
+    public double[] getProbabilities(int upcardValue, int[] valueCounts) {
+        long key = key(upcardValue, valueCounts);
+        Entry entry = cache.get(key);
+        if (entry != null && entry.upcardValue == upcardValue && Arrays.equals(entry.composition, valueCounts)) {
+            cacheHits++;
+            return entry.probabilities.clone();
+        }
+        cacheMisses++;
+
+        double[] probabilities = new double[NUM_OUTCOMES];
+        System.arraycopy(valueCounts, 0, counts, 0, NUM_VALUES);
+        int remaining = 0;
+        for (int count : valueCounts) {
+            remaining += count;
+        }
+        int upcardHard = upcardValue == ACE ? 1 : upcardValue + 2;
+        draw(remaining, upcardHard, upcardValue == ACE, 1, 1.0, probabilities);
+
+        cache.put(key, new Entry(upcardValue, valueCounts.clone(), probabilities));
+        return probabilities.clone();
+    }
+
+    public double[] getProbabilities(Card upcard, int[] valueCounts) {
+        return getProbabilities(upcard.getValue() - 2, valueCounts);
+    }
+
+    // adds probability of every way the hand can finish to out, hardTotal counts aces as 1
+    private void draw(int remaining, int hardTotal, boolean hasAce, int cards, double probability, double[] out) {
+        boolean soft = hasAce && hardTotal <= 11;
+        int total = soft ? hardTotal + 10 : hardTotal;
+        if (total > 21) {
+            out[BUST] += probability;
+            return;
+        }
+        if (cards == 2 && total == 21) {
+            out[BLACKJACK] += probability;
+            return;
+        }
+        if (cards >= 2 && !rules.dealerHits(total, soft)) {
+            out[total - 17] += probability;
+            return;
+        }
+        if (remaining == 0) {
+            return; // shoe ran dry, never happens before the cut card
+        }
+        for (int value = 0; value < NUM_VALUES; value++) {
+            int count = counts[value];
+            if (count == 0) {
+                continue;
+            }
+            counts[value]--;
+            draw(remaining - 1, hardTotal + (value == ACE ? 1 : value + 2), hasAce || value == ACE, cards + 1,
+                    probability * count / remaining, out);
+            counts[value]++;
+        }
+    }
+
+    private static long key(int upcardValue, int[] valueCounts) {
+        long hash = upcardValue;
+        for (int count : valueCounts) {
+            hash = (hash + count) * 0x9E3779B97F4A7C15L;
+            hash ^= hash >>> 29;
+        }
+        return hash;
+    }
+
+    public TableRules getRules() {
+        return rules;
+    }
+
+    public long getCacheHits() {
+        return cacheHits;
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses;
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    public void clearCache() {
+        cache.clear();
+    }
+
+    // the exact composition is kept with each result so a hash collision is a miss, never a wrong answer
+    private static final class Entry {
+        final int upcardValue;
+        final int[] composition;
+        final double[] probabilities;
+
+        Entry(int upcardValue, int[] composition, double[] probabilities) {
+            this.upcardValue = upcardValue;
+            this.composition = composition;
+            this.probabilities = probabilities;
+        }
+    }
+}
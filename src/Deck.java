@@ -1,53 +1,103 @@
-import java.util.*;
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
 
-public class Deck {
-    private List<Card> cards;
+public class Deck implements Shoe {
+    // rank-only draws are all reported as spades
+    private static final int SAMPLED_SUIT_BASE = Card.Suit.SPADES.ordinal() * Card.NUM_RANKS;
+
+    private int[] shoe; // card codes, drawn from cursor towards size
+    private int size;
+    private int cursor;
+    // shoe[cursor, settled) is already in its final random order, the rest is picked when drawn
+    private int settled;
+    // false while the array still holds one of every card, just in some order
+    private boolean needsRefill = true;
     private int numDecks;
-    private Random random;
+    private RandomGenerator random;
+    // cards of each rank left in the shoe, kept up to date on every draw
+    private int[] rankCounts = new int[Card.NUM_RANKS];
+    // Zobrist hash of rankCounts: the xor of zobrist(rank, count) over all ranks, see getCompositionHash()
+    private long compositionHash;
+    // rank-only mode samples ranks from rankCounts and never touches the shoe array
+    private boolean rankOnly;
+    private int rankOnlyRemaining;
+    private int peekedCode = -1;
     
     public Deck(int numDecks) {
+        this(numDecks, RandomAlgorithm.L64X128_MIX.create());
+    }
+
+    // pass a seeded generator, e.g. RandomAlgorithm.L64X128_MIX.create(seed), to replay the same shoes
+    public Deck(int numDecks, RandomGenerator random) {
         this.numDecks = numDecks;
-        this.random = new Random();
-        this.cards = new ArrayList<>();
+        this.random = random;
+        this.shoe = new int[numDecks * Card.NUM_CARDS];
         initializeDeck();
     }
     
     private void initializeDeck() {
-        cards.clear();
-        //based on num of decks
+        Arrays.fill(rankCounts, numDecks * Card.NUM_SUITS);
+        compositionHash = compositionHash(rankCounts);
+        if (rankOnly) {
+            rankOnlyRemaining = shoe.length;
+            peekedCode = -1;
+            return;
+        }
+        // a dealt-out shoe is still a permutation of every card, so only a test deck needs refilling
+        if (needsRefill) {
+            fillShoe(shoe, numDecks);
+            needsRefill = false;
+        }
+        size = shoe.length;
+        cursor = 0;
+        shuffle();
+    }
+
+    //based on num of decks, fills the array in place with 1 of each card per deck
+    static void fillShoe(int[] shoe, int numDecks) {
+        int index = 0;
         for (int deck = 0; deck < numDecks; deck++) {
-        	//goes through each suit and creates 1 of each card and adds it to the cards list
-        	//like a for each loop
-            for (Card.Suit suit : Card.Suit.values()) {
-            	//adds the actual card value and count value
-                for (Card.Rank rank : Card.Rank.values()) {
-                    cards.add(new Card(suit, rank));
-                }
+            for (int code = 0; code < Card.NUM_CARDS; code++) {
+                shoe[index++] = code;
             }
         }
-        shuffle();
+    }
+
+    //in place Fisher-Yates over shoe[from, to)
+    static void shuffle(int[] shoe, int from, int to, RandomGenerator random) {
+        for (int i = to - 1; i > from; i--) {
+            int j = from + random.nextInt(i - from + 1);
+            int temp = shoe[i];
+            shoe[i] = shoe[j];
+            shoe[j] = temp;
+        }
     }
 
     public void createTestSplitDeck() {
-    cards.clear();
+    rankOnly = false;
+    Arrays.fill(rankCounts, 0);
+    needsRefill = true;
+    cursor = 0;
+    size = 0;
     
     // Create a deck that allows 3 splits in a row
     // Player gets: 8 8
     // Dealer gets 6 7
     
     // Add multiple 8s for player to keep splitting
-    cards.add(new Card(Card.Suit.HEARTS, Card.Rank.TWO));   // player card 1
-    cards.add(new Card(Card.Suit.SPADES, Card.Rank.SIX));     // dealer hidden card
-    cards.add(new Card(Card.Suit.DIAMONDS, Card.Rank.TWO)); // player card 2
-    cards.add(new Card(Card.Suit.SPADES, Card.Rank.SEVEN));   // dealer up card
-    cards.add(new Card(Card.Suit.CLUBS, Card.Rank.TWO));    // split card 1
-    // cards.add(new Card(Card.Suit.SPADES, Card.Rank.EIGHT));   // split card 2
-    // cards.add(new Card(Card.Suit.HEARTS, Card.Rank.EIGHT));   // split card 3
-    // cards.add(new Card(Card.Suit.DIAMONDS, Card.Rank.EIGHT)); // split card 4
-    // cards.add(new Card(Card.Suit.CLUBS, Card.Rank.EIGHT));    // split card 5
-    // cards.add(new Card(Card.Suit.SPADES, Card.Rank.EIGHT));   // split card 6
-    // cards.add(new Card(Card.Suit.HEARTS, Card.Rank.EIGHT));   // split card 7
-    // cards.add(new Card(Card.Suit.DIAMONDS, Card.Rank.EIGHT)); // split card 8
+    // cards are added in the order they are drawn
+    addTestCard(Card.Suit.HEARTS, Card.Rank.TWO);   // player card 1
+    addTestCard(Card.Suit.SPADES, Card.Rank.SIX);     // dealer hidden card
+    addTestCard(Card.Suit.DIAMONDS, Card.Rank.TWO); // player card 2
+    addTestCard(Card.Suit.SPADES, Card.Rank.SEVEN);   // dealer up card
+    addTestCard(Card.Suit.CLUBS, Card.Rank.TWO);    // split card 1
+    // addTestCard(Card.Suit.SPADES, Card.Rank.EIGHT);   // split card 2
+    // addTestCard(Card.Suit.HEARTS, Card.Rank.EIGHT);   // split card 3
+    // addTestCard(Card.Suit.DIAMONDS, Card.Rank.EIGHT); // split card 4
+    // addTestCard(Card.Suit.CLUBS, Card.Rank.EIGHT);    // split card 5
+    // addTestCard(Card.Suit.SPADES, Card.Rank.EIGHT);   // split card 6
+    // addTestCard(Card.Suit.HEARTS, Card.Rank.EIGHT);   // split card 7
+    // addTestCard(Card.Suit.DIAMONDS, Card.Rank.EIGHT); // split card 8
     
     // Dealer cards
 
@@ -55,49 +105,197 @@ public class Deck {
     
     // Add some filler cards for dealer/player hits
     // for (int i = 0; i < 10; i++) {
-    //     cards.add(new Card(Card.Suit.HEARTS, Card.Rank.THREE));
+    //     addTestCard(Card.Suit.HEARTS, Card.Rank.THREE);
     // }
-    
-    // Reverse the list since drawCard() removes from the end
-    Collections.reverse(cards);
+
+    // dealt in exactly this order
+    settled = size;
+    compositionHash = compositionHash(rankCounts);
 }
+
+    private void addTestCard(Card.Suit suit, Card.Rank rank) {
+        shoe[size++] = Card.of(suit, rank).code();
+        rankCounts[rank.ordinal()]++;
+    }
+
+    // rank-only mode ignores suits, drawn cards carry the right rank but always the same suit
+    // only for play where suits never matter, i.e. no side bets
+    @Override
+    public void setRankOnly(boolean rankOnly) {
+        if (this.rankOnly != rankOnly) {
+            this.rankOnly = rankOnly;
+            initializeDeck();
+        }
+    }
+
+    @Override
+    public boolean isRankOnly() {
+        return rankOnly;
+    }
+
+    // the generator shuffling this shoe
+    @Override
+    public RandomGenerator getRandom() {
+        return random;
+    }
+
+    @Override
+    public int getRankCount(Card.Rank rank) {
+        return rankCounts[rank.ordinal()];
+    }
+
+    // 64-bit hash of how many cards of each rank are left, kept up to date in O(1) per draw
+    // equal compositions hash the same in any Deck, whatever the order the cards were drawn in
+    @Override
+    public long getCompositionHash() {
+        return compositionHash;
+    }
+
+    // the same hash computed from scratch, for counts per rank ordinal
+    public static long compositionHash(int[] rankCounts) {
+        long hash = 0;
+        for (int rank = 0; rank < rankCounts.length; rank++) {
+            hash ^= zobrist(rank, rankCounts[rank]);
+        }
+        return hash;
+    }
+
+    // Zobrist key of "count cards of this rank left", a SplitMix64 finalizer so no table
+    // has to be sized for the largest shoe
+    static long zobrist(int rank, int count) {
+        long z = ((long) rank << 32 | count) * 0x9e3779b97f4a7c15L;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
     
     public void shuffle() {
-        Collections.shuffle(cards, random); //randomizes the whole cards list
+        if (rankOnly) {
+            peekedCode = -1; // every draw is already a fresh sample
+            return;
+        }
+        // O(1): forgets the order of the cards still in the shoe, each draw then picks
+        // a uniformly random remaining card (an incremental Fisher-Yates), so cards left
+        // behind the cut card are never shuffled at all
+        settled = cursor;
     }
     
+    @Override
     public boolean isEmpty() {
-        return cards.isEmpty();
+        return getCardsRemaining() == 0;
     }
     
+    @Override
     public int getCardsRemaining() {
-        return cards.size();
+        return rankOnly ? rankOnlyRemaining : size - cursor;
     }
     
+    @Override
     public int getNumDecks() {
         return numDecks;
     }
     
+    @Override
     public double getDecksRemaining() {
-        return cards.size() / 52.0; //rounds down
+        return getCardsRemaining() / 52.0; //rounds down
     }
     
+    @Override
     public void reset() {
         initializeDeck();
     }
 
+    // puts in a full shoe that was shuffled elsewhere and returns the old array for reuse
+    @Override
+    public int[] swapShoe(int[] shuffledShoe) {
+        if (shuffledShoe.length != shoe.length) {
+            throw new IllegalArgumentException("Shoe must hold " + shoe.length + " cards");
+        }
+        if (rankOnly) {
+            throw new IllegalStateException("Rank-only deck has no shoe to swap");
+        }
+        int[] old = shoe;
+        shoe = shuffledShoe;
+        size = shoe.length;
+        cursor = 0;
+        settled = size; // already fully shuffled
+        Arrays.fill(rankCounts, numDecks * Card.NUM_SUITS);
+        compositionHash = compositionHash(rankCounts);
+        return old;
+    }
+
+    // starts a fresh shoe shuffled by the given generator, which is also used for later resets
+    @Override
+    public void reset(RandomGenerator random) {
+        this.random = random;
+        initializeDeck();
+    }
+
+    @Override
     public Card drawCard() {
-    if (cards.isEmpty()) {
-        throw new IllegalStateException("Deck is empty");
+        return Card.of(drawCode());
+    }
+
+    // draws the next card as its code without going through a Card
+    @Override
+    public int drawCode() {
+        if (isEmpty()) {
+            throw new IllegalStateException("Deck is empty");
         }
-    return cards.remove(cards.size() - 1);
+        int code;
+        if (rankOnly) {
+            code = peekedCode >= 0 ? peekedCode : sampleRank();
+            peekedCode = -1;
+            rankOnlyRemaining--;
+        } else {
+            if (cursor == settled) {
+                settleNext();
+            }
+            code = shoe[cursor++];
+        }
+        int rank = Card.rankOf(code);
+        int count = rankCounts[rank]--;
+        compositionHash ^= zobrist(rank, count) ^ zobrist(rank, count - 1);
+        return code;
     }
 
+    @Override
     public Card peek() {
-        if (cards.isEmpty()) {
+        if (isEmpty()) {
             return null;
         }
-        return cards.get(cards.size() - 1);
+        if (rankOnly) {
+            // fix the sample so the next draw returns the card that was peeked
+            if (peekedCode < 0) {
+                peekedCode = sampleRank();
+            }
+            return Card.of(peekedCode);
+        }
+        // fix the pick so the next draw returns the card that was peeked
+        if (cursor == settled) {
+            settleNext();
+        }
+        return Card.of(shoe[cursor]);
+    }
+
+    // one step of Fisher-Yates: swaps a random remaining card into the draw position
+    private void settleNext() {
+        int j = cursor + random.nextInt(size - cursor);
+        int temp = shoe[cursor];
+        shoe[cursor] = shoe[j];
+        shoe[j] = temp;
+        settled++;
+    }
+
+    // picks a rank weighted by how many of it are left, as a spade
+    private int sampleRank() {
+        int pick = random.nextInt(rankOnlyRemaining);
+        int rank = 0;
+        while (pick >= rankCounts[rank]) {
+            pick -= rankCounts[rank];
+            rank++;
+        }
+        return SAMPLED_SUIT_BASE + rank;
     }
 
 }
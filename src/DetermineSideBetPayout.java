@@ -1,144 +1,142 @@
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-
 public class DetermineSideBetPayout {
+
+    // Perfect Pairs outcomes, best last
+    public static final int NO_PAIR = 0;
+    public static final int MIXED_PAIR = 1;
+    public static final int SAME_COLOR_PAIR = 2;
+    public static final int PERFECT_PAIR = 3;
+
+    // 21+3 outcomes, best last
+    public static final int NO_HAND = 0;
+    public static final int FLUSH = 1;
+    public static final int STRAIGHT = 2;
+    public static final int THREE_OF_A_KIND = 3;
+    public static final int STRAIGHT_FLUSH = 4;
+    public static final int SUITED_TRIPS = 5;
+
+    // default paytables, indexed by outcome
+    private static final double[] PAIR_MULTIPLIERS = StandardSideBet.PERFECT_PAIRS.getDefaultPayouts();
+    private static final double[] TWENTY_ONE_PLUS_THREE_MULTIPLIERS =
+            StandardSideBet.TWENTY_ONE_PLUS_THREE.getDefaultPayouts();
+
+    // rank pattern of three cards, ignoring suits
+    private static final byte RANKS_NONE = 0;
+    private static final byte RANKS_STRAIGHT = 1;
+    private static final byte RANKS_TRIPS = 2;
+
+    // Perfect Pairs outcome for every ordered pair of card codes
+    private static final byte[] PAIR_TABLE = new byte[Card.NUM_CARDS * Card.NUM_CARDS];
+    // rank pattern for every ordered triple of rank ordinals
+    private static final byte[] RANK_TABLE = new byte[Card.NUM_RANKS * Card.NUM_RANKS * Card.NUM_RANKS];
+    // 21+3 outcome by [rank pattern * 2 + (1 if all one suit)]
+    private static final byte[] TWENTY_ONE_PLUS_THREE_TABLE = {
+        NO_HAND, FLUSH,                  // no rank pattern
+        STRAIGHT, STRAIGHT_FLUSH,        // straight
+        THREE_OF_A_KIND, SUITED_TRIPS    // trips
+    };
+
+    static {
+        for (int first = 0; first < Card.NUM_CARDS; first++) {
+            for (int second = 0; second < Card.NUM_CARDS; second++) {
+                PAIR_TABLE[first * Card.NUM_CARDS + second] = (byte) evaluatePair(first, second);
+            }
+        }
+        for (int a = 0; a < Card.NUM_RANKS; a++) {
+            for (int b = 0; b < Card.NUM_RANKS; b++) {
+                for (int c = 0; c < Card.NUM_RANKS; c++) {
+                    byte pattern = RANKS_NONE;
+                    if (a == b && a == c) {
+                        pattern = RANKS_TRIPS;
+                    } else if (isStraight(a, b, c)) {
+                        pattern = RANKS_STRAIGHT;
+                    }
+                    RANK_TABLE[(a * Card.NUM_RANKS + b) * Card.NUM_RANKS + c] = pattern;
+                }
+            }
+        }
+    }
     
     public static double calculatePairPayout(Hand hand, double pairBet) {
-        if (pairBet <= 0) {
+        if (pairBet <= 0 || hand.cardCount() != 2) {
             return 0;
         }
-        
-        if (hand.isPerfectPair()) {
-            return pairBet * 30; // Perfect Pair pays 30:1
-        } else if (hand.isSameColorPair()) {
-            return pairBet * 10; // Same Color Pair pays 10:1
-        } else if (hand.isMixedPair()) {
-            return pairBet * 5; // Mixed Pair pays 5:1
-        } else {
-            return 0; // No pair, lose bet
+        return calculatePairPayout(hand.cardAt(0).code(), hand.cardAt(1).code(), pairBet);
+    }
+
+    public static double calculatePairPayout(int firstCode, int secondCode, double pairBet) {
+        if (pairBet <= 0) {
+            return 0;
         }
+        // Perfect Pair pays 30:1, Same Color Pair 10:1, Mixed Pair 5:1
+        return pairBet * PAIR_MULTIPLIERS[pairOutcome(firstCode, secondCode)];
     }
 
     public static double calculateTwentyOnePlusThreePayout(Hand playerHand, Card dealerUpCard, double betAmount) {
-        if (betAmount <= 0 || playerHand.getCards().size() != 2 || dealerUpCard == null) {
+        if (betAmount <= 0 || playerHand.cardCount() != 2 || dealerUpCard == null) {
             return 0;
         }
-        
-        List<Card> threeCards = new ArrayList<>();
-        threeCards.addAll(playerHand.getCards());
-        threeCards.add(dealerUpCard);
-        
-        if (isSuitedTrips(threeCards)) {
-            return betAmount * 100; // Suited Trips pays 100:1
-        } else if (isStraightFlush(threeCards)) {
-            return betAmount * 40; // Straight Flush pays 40:1
-        } else if (isThreeOfAKind(threeCards)) {
-            return betAmount * 30; // Three of a Kind pays 30:1
-        } else if (isStraight(threeCards)) {
-            return betAmount * 10; // Straight pays 10:1
-        } else if (isFlush(threeCards)) {
-            return betAmount * 5; // Flush pays 5:1
-        } else {
+        return calculateTwentyOnePlusThreePayout(playerHand.cardAt(0).code(), playerHand.cardAt(1).code(),
+                dealerUpCard.code(), betAmount);
+    }
+
+    public static double calculateTwentyOnePlusThreePayout(int firstCode, int secondCode, int dealerUpCode,
+            double betAmount) {
+        if (betAmount <= 0) {
             return 0;
         }
+        // Suited Trips pays 100:1, Straight Flush 40:1, Three of a Kind 30:1, Straight 10:1, Flush 5:1
+        return betAmount * TWENTY_ONE_PLUS_THREE_MULTIPLIERS[twentyOnePlusThreeOutcome(firstCode, secondCode, dealerUpCode)];
     }
 
-    private static boolean isSuitedTrips(List<Card> cards) {
-        // all three cards same rank AND same suit
-        return cards.get(0).getRank() == cards.get(1).getRank() &&
-               cards.get(0).getRank() == cards.get(2).getRank() &&
-               cards.get(0).getSuit() == cards.get(1).getSuit() &&
-               cards.get(0).getSuit() == cards.get(2).getSuit();
+    public static int pairOutcome(int firstCode, int secondCode) {
+        return PAIR_TABLE[firstCode * Card.NUM_CARDS + secondCode];
     }
 
-    private static boolean isStraightFlush(List<Card> cards) {
-        return isFlush(cards) && isStraight(cards);
+    public static int twentyOnePlusThreeOutcome(int firstCode, int secondCode, int thirdCode) {
+        int ranks = (Card.rankOf(firstCode) * Card.NUM_RANKS + Card.rankOf(secondCode)) * Card.NUM_RANKS
+                + Card.rankOf(thirdCode);
+        int suit = Card.suitOf(firstCode);
+        int flush = (suit == Card.suitOf(secondCode) && suit == Card.suitOf(thirdCode)) ? 1 : 0;
+        return TWENTY_ONE_PLUS_THREE_TABLE[RANK_TABLE[ranks] * 2 + flush];
     }
 
-    private static boolean isThreeOfAKind(List<Card> cards) {
-        // all three cards same rank (but not necessarily same suit)
-        return cards.get(0).getRank() == cards.get(1).getRank() &&
-               cards.get(0).getRank() == cards.get(2).getRank();
+    public static double getPairMultiplier(int outcome) {
+        return PAIR_MULTIPLIERS[outcome];
     }
 
-    private static boolean isStraight(List<Card> cards) {
-        List<Integer> values = new ArrayList<>();
-        
-        for (Card card : cards) {
-            if (card.getRank() == Card.Rank.ACE) {
-                // Ace can be 1 or 14
-                values.add(1);
-                values.add(14);
-            } else if (card.getRank() == Card.Rank.JACK) {
-                values.add(11);
-            } else if (card.getRank() == Card.Rank.QUEEN) {
-                values.add(12);
-            } else if (card.getRank() == Card.Rank.KING) {
-                values.add(13);
-            } else {
-                values.add(card.getValue());
-            }
+    public static double getTwentyOnePlusThreeMultiplier(int outcome) {
+        return TWENTY_ONE_PLUS_THREE_MULTIPLIERS[outcome];
+    }
+
+    // only used to build the tables
+    private static int evaluatePair(int firstCode, int secondCode) {
+        if (Card.rankOf(firstCode) != Card.rankOf(secondCode)) {
+            return NO_PAIR;
         }
-        
-        // try all combinations if Ace is present
-        if (values.size() > 3) {
-            // Ace present - check both Ace-low and Ace-high
-            // Ace-low: A-2-3
-            if (values.contains(1) && values.contains(2) && values.contains(3)) {
-                return true;
-            }
-            // ce-high: Q-K-A
-            if (values.contains(12) && values.contains(13) && values.contains(14)) {
-                return true;
-            }
-            // check other combinations with Ace as 1
-            List<Integer> aceLow = new ArrayList<>();
-            for (Card card : cards) {
-                if (card.getRank() == Card.Rank.ACE) {
-                    aceLow.add(1);
-                } else if (card.getRank() == Card.Rank.JACK) {
-                    aceLow.add(11);
-                } else if (card.getRank() == Card.Rank.QUEEN) {
-                    aceLow.add(12);
-                } else if (card.getRank() == Card.Rank.KING) {
-                    aceLow.add(13);
-                } else {
-                    aceLow.add(card.getValue());
-                }
-            }
-            Collections.sort(aceLow);
-            if (aceLow.get(2) - aceLow.get(1) == 1 && aceLow.get(1) - aceLow.get(0) == 1) {
-                return true;
-            }
-            
-            // check with Ace as 14
-            List<Integer> aceHigh = new ArrayList<>();
-            for (Card card : cards) {
-                if (card.getRank() == Card.Rank.ACE) {
-                    aceHigh.add(14);
-                } else if (card.getRank() == Card.Rank.JACK) {
-                    aceHigh.add(11);
-                } else if (card.getRank() == Card.Rank.QUEEN) {
-                    aceHigh.add(12);
-                } else if (card.getRank() == Card.Rank.KING) {
-                    aceHigh.add(13);
-                } else {
-                    aceHigh.add(card.getValue());
-                }
-            }
-            Collections.sort(aceHigh);
-            return aceHigh.get(2) - aceHigh.get(1) == 1 && aceHigh.get(1) - aceHigh.get(0) == 1;
-        } else {
-            // no Ace - simple check
-            Collections.sort(values);
-            return values.get(2) - values.get(1) == 1 && values.get(1) - values.get(0) == 1;
+        Card.Suit firstSuit = Card.of(firstCode).getSuit();
+        Card.Suit secondSuit = Card.of(secondCode).getSuit();
+        if (firstSuit == secondSuit) {
+            return PERFECT_PAIR;
         }
+        return firstSuit.isRed() == secondSuit.isRed() ? SAME_COLOR_PAIR : MIXED_PAIR;
     }
 
-    private static boolean isFlush(List<Card> cards) {
-        // all three cards same suit
-        Card.Suit suit = cards.get(0).getSuit();
-        return cards.get(1).getSuit() == suit && cards.get(2).getSuit() == suit;
+    // only used to build the tables, ace plays low (A-2-3) or high (Q-K-A), no wrapping
+    private static boolean isStraight(int a, int b, int c) {
+        if (a == b || a == c || b == c) {
+            return false;
+        }
+        int ace = Card.Rank.ACE.ordinal();
+        // rank ordinals run TWO..KING = 0..11, so straight values are ordinal + 2
+        int low = Math.min(a, Math.min(b, c));
+        int high = Math.max(a, Math.max(b, c));
+        if (high != ace) {
+            return high - low == 2;
+        }
+        // ace high needs queen and king, ace low needs two and three
+        int middle = a + b + c - low - high;
+        boolean aceHigh = low == Card.Rank.QUEEN.ordinal() && middle == Card.Rank.KING.ordinal();
+        boolean aceLow = low == Card.Rank.TWO.ordinal() && middle == Card.Rank.THREE.ordinal();
+        return aceHigh || aceLow;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,291 @@
+import java.util.Arrays;
+
+// expected value of hit, stand, double and split for a hand, the dealer upcard and the unseen cards
+// the player's draws are exact, each one changing the odds of the next; by default the dealer's
+// odds come from the composition at the decision, which needs one dealer calculation instead of
+// one per reachable composition, so the default EVs are an approximation that is off by the
+// effect of the player's own cards on the dealer's draws; setExactDealerDraws(true) redoes the
+// dealer odds after every player card and is exact for hit, stand and double, at a higher cost
+// table rules pick the dealer's soft 17 rule, whether blackjack is conditioned out by the peek or
+// lost to at the end (no hole card), doubling after splits and whether pairs resplit at all
+// split EVs are approximate in either mode: the split hands are played as if each drew from the
+// shoe independently of the other, a resplit comes from the unseen cards of the pair's own rank
+// best-of-hit-and-stand results are memoized in a TranspositionCache under a Zobrist hash of the
+// composition, so later decisions in the same hand and split branches reuse each other's work
+// not thread safe, give each worker its own; the memo cache alone can be shared, between calculators
+// for the same rules
+public class ExpectedValueCalculator {
+    private static final int NUM_VALUES = DealerProbabilities.NUM_VALUES;
+    private static final int ACE = NUM_VALUES - 1;
+    private static final PlayerStrategy.Action[] ACTIONS = PlayerStrategy.Action.values();
+
+    public static final int DEFAULT_MEMO_SIZE = 1 << 14;
+
+    // what giving up half the bet is worth, per unit bet, against a dealer known not to have blackjack
+    public static final double SURRENDER_VALUE = -0.5;
+
+    // the memo key hashes the hand in as one more Zobrist feature after the card values
+    private static final int HAND_FEATURE = NUM_VALUES;
+    private static final int ACE_BIT = 1 << 5;
+    private static final int UPCARD_SHIFT = 6;
+
+    private final DealerProbabilities dealerProbabilities;
+    private final boolean dealerPeeks;
+    private final boolean doubleAfterSplit;
+    private final boolean resplit;
+    // best of hit and stand per (composition, hard total, ace, upcard), see hitOrStand
+    private final TranspositionCache memo;
+    private final double[] memoValue = new double[1];
+    private final int[] counts = new int[NUM_VALUES]; // composition left, changed and restored while drawing
+    private int remaining;
+    private long compositionHash; // Zobrist hash of counts, by value index
+    private long decisionSalt; // ties memo entries to the decision's dealer odds, 0 with exact dealer draws
+    private int upcardValue;
+    private double[] decisionDealer; // dealer odds for the composition passed to evaluate
+    private boolean exactDealerDraws;
+
+    public ExpectedValueCalculator() {
+        this(TableRules.STANDARD);
+    }
+
+    public ExpectedValueCalculator(TableRules rules) {
+        this(new DealerProbabilities(rules));
+    }
+
+    // dealer results are cached by the given calculator, so one instance can be reused round after round
+    // the rules are the ones the dealer odds were built for
+    public ExpectedValueCalculator(DealerProbabilities dealerProbabilities) {
+        this(dealerProbabilities, new TranspositionCache(DEFAULT_MEMO_SIZE, 1));
+    }
+
+    // memo holds one value per entry and may be shared with calculators on other threads
+    public ExpectedValueCalculator(DealerProbabilities dealerProbabilities, TranspositionCache memo) {
+        if (memo.getValueWidth() != 1) {
+            throw new IllegalArgumentException("Memo cache must hold one value per entry");
+        }
+        TableRules rules = dealerProbabilities.getRules();
+        this.dealerProbabilities = dealerProbabilities;
+        this.memo = memo;
+        this.dealerPeeks = rules.isDealerPeeks();
+        this.doubleAfterSplit = rules.isDoubleAfterSplit();
+        this.resplit = rules.getMaxSplitHands() > 2;
+    }
+
+    // EV per unit bet indexed by PlayerStrategy.Action ordinal, NaN for actions that are not allowed
+    // handState is from Hand.getState(), unseenValueCounts per DealerProbabilities value index and
+    // including the dealer's hole card, unseenPairRankCount the unseen cards of the pair's rank, which
+    // for a ten-value pair is fewer than the tens (only read when the hand is a pair)
+    public double[] evaluate(int handState, Card dealerUpCard, int[] unseenValueCounts, int unseenPairRankCount,
+            boolean canDouble, boolean canSplit) {
+        if (unseenValueCounts.length != NUM_VALUES) {
+            throw new IllegalArgumentException("Expected " + NUM_VALUES + " value counts but got "
+                    + unseenValueCounts.length);
+        }
+        System.arraycopy(unseenValueCounts, 0, counts, 0, NUM_VALUES);
+        remaining = 0;
+        compositionHash = 0;
+        for (int value = 0; value < NUM_VALUES; value++) {
+            remaining += counts[value];
+            compositionHash ^= Deck.zobrist(value, counts[value]);
+        }
+        upcardValue = dealerUpCard.getValue() - 2;
+        // with the dealer odds fixed at the decision, a result also depends on where the decision was
+        decisionSalt = exactDealerDraws ? 0 : Long.rotateLeft(compositionHash * 0x9e3779b97f4a7c15L, 31);
+        decisionDealer = dealerProbabilities.getProbabilities(upcardValue, counts);
+
+        int total = Hand.stateTotal(handState);
+        boolean soft = Hand.stateIsSoft(handState);
+        // a hard hand's aces can never count as 11 again, so only soft hands keep the ace flag
+        int hardTotal = soft ? total - 10 : total;
+
+        double[] ev = new double[ACTIONS.length];
+        Arrays.fill(ev, Double.NaN);
+        ev[PlayerStrategy.Action.STAND.ordinal()] = stand(total);
+        if (total < 21) {
+            ev[PlayerStrategy.Action.HIT.ordinal()] = hit(hardTotal, soft);
+        }
+        if (canDouble) {
+            ev[PlayerStrategy.Action.DOUBLE.ordinal()] = doubleDown(hardTotal, soft);
+        }
+        int pairRank = Hand.statePairRank(handState);
+        if (canSplit && pairRank >= 0) {
+            int pairValue = DealerProbabilities.valueIndex(pairRank);
+            if (unseenPairRankCount < 0 || unseenPairRankCount > counts[pairValue]) {
+                throw new IllegalArgumentException("Unseen pair rank count " + unseenPairRankCount
+                        + " does not fit the " + counts[pairValue] + " unseen cards of its value");
+            }
+            ev[PlayerStrategy.Action.SPLIT.ordinal()] = split(pairValue, unseenPairRankCount);
+        }
+        return ev;
+    }
+
+    // what surrendering the hand is worth per unit bet; after a peek that is always half the bet, without
+    // one a dealer blackjack still takes the whole bet, so it is worth less by half the blackjack chance
+    public double surrenderValue(Card dealerUpCard, int[] unseenValueCounts) {
+        if (dealerPeeks) {
+            return SURRENDER_VALUE;
+        }
+        double blackjack = dealerProbabilities.getProbabilities(dealerUpCard, unseenValueCounts)[
+                DealerProbabilities.BLACKJACK];
+        return SURRENDER_VALUE * (1 - blackjack) - blackjack;
+    }
+
+    // the allowed action with the highest EV
+    public PlayerStrategy.Action bestAction(double[] ev) {
+        PlayerStrategy.Action best = PlayerStrategy.Action.STAND;
+        for (PlayerStrategy.Action action : ACTIONS) {
+            if (ev[action.ordinal()] > ev[best.ordinal()]) {
+                best = action;
+            }
+        }
+        return best;
+    }
+
+    private double stand(int total) {
+        if (total > 21) {
+            return -1;
+        }
+        double[] dealer = exactDealerDraws ? dealerProbabilities.getProbabilities(upcardValue, counts)
+                : decisionDealer;
+        double blackjack = dealer[DealerProbabilities.BLACKJACK];
+        double win = dealer[DealerProbabilities.BUST];
+        double lose = 0;
+        for (int dealerTotal = 17; dealerTotal <= 21; dealerTotal++) {
+            double p = dealer[dealerTotal - 17];
+            if (total > dealerTotal) {
+                win += p;
+            } else if (total < dealerTotal) {
+                lose += p;
+            }
+        }
+        // after a peek the dealer is known not to have blackjack, without one it beats every hand
+        return dealerPeeks ? (win - lose) / (1 - blackjack) : win - lose - blackjack;
+    }
+
+    // best of hitting and standing from here on, the only choices left after the first hit
+    private double hitOrStand(int hardTotal, boolean hasAce) {
+        int total = hasAce && hardTotal <= 11 ? hardTotal + 10 : hardTotal;
+        if (total > 21) {
+            return -1;
+        }
+        // the game stands every hand that reaches 21
+        if (total == 21) {
+            return stand(total);
+        }
+        long key = compositionHash ^ decisionSalt
+                ^ Deck.zobrist(HAND_FEATURE, hardTotal | (hasAce ? ACE_BIT : 0) | upcardValue << UPCARD_SHIFT);
+        if (memo.get(key, memoValue)) {
+            return memoValue[0];
+        }
+        double best = Math.max(stand(total), hit(hardTotal, hasAce));
+        memoValue[0] = best;
+        memo.put(key, memoValue);
+        return best;
+    }
+
+    private double hit(int hardTotal, boolean hasAce) {
+        double ev = 0;
+        for (int value = 0; value < NUM_VALUES; value++) {
+            int count = counts[value];
+            if (count == 0) {
+                continue;
+            }
+            double p = (double) count / remaining;
+            draw(value);
+            ev += p * hitOrStand(hardTotal + cardValue(value), hasAce || value == ACE);
+            undraw(value);
+        }
+        return ev;
+    }
+
+    // one card, then stand, for twice the bet
+    private double doubleDown(int hardTotal, boolean hasAce) {
+        double ev = 0;
+        for (int value = 0; value < NUM_VALUES; value++) {
+            int count = counts[value];
+            if (count == 0) {
+                continue;
+            }
+            double p = (double) count / remaining;
+            draw(value);
+            int newHard = hardTotal + cardValue(value);
+            boolean ace = hasAce || value == ACE;
+            ev += p * stand(ace && newHard <= 11 ? newHard + 10 : newHard);
+            undraw(value);
+        }
+        return 2 * ev;
+    }
+
+    // two hands each starting from one card of the pair, both bets counted
+    // pairRankCount of the pair value's unseen cards make a new pair, the rest of that value do not
+    private double split(int pairValue, int pairRankCount) {
+        int pairHard = cardValue(pairValue);
+        boolean pairAce = pairValue == ACE;
+        double resplitChance = 0;
+        double otherCards = 0; // EV contribution of second cards that do not make a new pair
+        double noResplit = 0; // EV of a same-rank second card when it is played rather than resplit
+        for (int value = 0; value < NUM_VALUES; value++) {
+            int count = counts[value];
+            if (count == 0) {
+                continue;
+            }
+            double p = (double) count / remaining;
+            draw(value);
+            double twoCards = firstTwoCards(pairHard + cardValue(value), pairAce || value == ACE);
+            undraw(value);
+            if (value == pairValue) {
+                double sameRank = (double) pairRankCount / remaining;
+                resplitChance = sameRank;
+                otherCards += (p - sameRank) * twoCards;
+                noResplit = sameRank * twoCards;
+            } else {
+                otherCards += p * twoCards;
+            }
+        }
+        double hand = otherCards + noResplit;
+        // resplitting every new pair: hand = otherCards + resplitChance * 2 * hand
+        if (resplit && resplitChance < 0.5) {
+            hand = Math.max(hand, otherCards / (1 - 2 * resplitChance));
+        }
+        return 2 * hand;
+    }
+
+    // a split hand with its second card
+    private double firstTwoCards(int hardTotal, boolean hasAce) {
+        double play = hitOrStand(hardTotal, hasAce);
+        return doubleAfterSplit ? Math.max(play, doubleDown(hardTotal, hasAce)) : play;
+    }
+
+    private void draw(int value) {
+        int count = counts[value]--;
+        remaining--;
+        compositionHash ^= Deck.zobrist(value, count) ^ Deck.zobrist(value, count - 1);
+    }
+
+    private void undraw(int value) {
+        int count = counts[value]++;
+        remaining++;
+        compositionHash ^= Deck.zobrist(value, count) ^ Deck.zobrist(value, count + 1);
+    }
+
+    private static int cardValue(int value) {
+        return value == ACE ? 1 : value + 2;
+    }
+
+    // exact dealer odds for every composition the player's draws can reach, much slower for low hands
+    public void setExactDealerDraws(boolean exactDealerDraws) {
+        this.exactDealerDraws = exactDealerDraws;
+    }
+
+    public boolean isExactDealerDraws() {
+        return exactDealerDraws;
+    }
+
+    public TranspositionCache getMemo() {
+        return memo;
+    }
+
+    public DealerProbabilities getDealerProbabilities() {
+        return dealerProbabilities;
+    }
+}
@@ -440,10 +440,10 @@ public class GUI extends Application implements GameStateListener {
             double targetX;
             double targetY;
             if (gameController.getPlayer().getNumHands() > 1) {
-                targetX = playerCards.getLayoutX() + (handIndex * 400) + (hand.getCards().size() * 55);
+                targetX = playerCards.getLayoutX() + (handIndex * 400) + (hand.cardCount() * 55);
                 targetY = playerCards.getLayoutY() + 40;
             } else {
-                targetX = playerCards.getLayoutX() + (hand.getCards().size() * 117);
+                targetX = playerCards.getLayoutX() + (hand.cardCount() * 117);
                 targetY = playerCards.getLayoutY();
             }
 
@@ -498,7 +498,7 @@ public class GUI extends Application implements GameStateListener {
             gameController.doubleDown(handIndex); // this validates and doubles the bet
 
             Card newCard = gameController.peekNextCard();
-            double targetX = playerCards.getLayoutX() + (hand.getCards().size() * 117);
+            double targetX = playerCards.getLayoutX() + (hand.cardCount() * 117);
             double targetY = playerCards.getLayoutY();
 
             setActionButtonsDisabled(true);
@@ -673,7 +673,10 @@ public class GUI extends Application implements GameStateListener {
         dealButton.setVisible(false);
         sideBetButton.setVisible(false);
         betField.setVisible(false);
-        messageLabel.setVisible(false);
+        // the deck reshuffles just before this, its message hides on its own timer
+        if (!messageLabel.getText().equals("Deck reshuffled!")) {
+            messageLabel.setVisible(false);
+        }
         halfButton.setVisible(false);
         twoXButton.setVisible(false);
         threeXButton.setVisible(false);
@@ -695,15 +698,12 @@ public class GUI extends Application implements GameStateListener {
         updateMoneyDisplay();
         Hand playerHand = player.getHand(0);
         Hand dealerHand = dealer.getHand();
-        List<Card> playerCardsList = playerHand.getCards();
-        List<Card> dealerCardsList = dealerHand.getCards();
-
-        String p1Rank = getRankString(playerCardsList.get(0));
-        String p1Suit = playerCardsList.get(0).getSuit().getSymbol();
-        String p2Rank = getRankString(playerCardsList.get(1));
-        String p2Suit = playerCardsList.get(1).getSuit().getSymbol();
-        String d1Rank = getRankString(dealerCardsList.get(0));
-        String d1Suit = dealerCardsList.get(0).getSuit().getSymbol();
+        String p1Rank = getRankString(playerHand.cardAt(0));
+        String p1Suit = playerHand.cardAt(0).getSuit().getSymbol();
+        String p2Rank = getRankString(playerHand.cardAt(1));
+        String p2Suit = playerHand.cardAt(1).getSuit().getSymbol();
+        String d1Rank = getRankString(dealerHand.cardAt(0));
+        String d1Suit = dealerHand.cardAt(0).getSuit().getSymbol();
 
         cardAnimation.dealInitialCards(
                 p1Rank, p1Suit, d1Rank, d1Suit, p2Rank, p2Suit,
@@ -765,7 +765,9 @@ public class GUI extends Application implements GameStateListener {
         // animate revealing dealer's hidden card
         gameController.startDealerPlay();
         dealerCards.getChildren().clear();
-        for (Card card : dealer.getHand().getCards()) {
+        Hand dealerHand = dealer.getHand();
+        for (int i = 0; i < dealerHand.cardCount(); i++) {
+            Card card = dealerHand.cardAt(i);
             dealerCards.getChildren().add(createCard(getRankString(card), card.getSuit().getSymbol()));
         }
         dealerValueLabel.setText("Value: " + dealer.getValue());
@@ -798,7 +800,7 @@ public class GUI extends Application implements GameStateListener {
                 return;
             }
 
-            double targetX = dealerCards.getLayoutX() + (dealerHand.getCards().size() * 117);
+            double targetX = dealerCards.getLayoutX() + (dealerHand.cardCount() * 117);
             double targetY = dealerCards.getLayoutY();
 
             // animate the card
@@ -1011,7 +1013,8 @@ public class GUI extends Application implements GameStateListener {
     private void displaySingleHand() {
         Hand playerHand = gameController.getPlayer().getHand(0);
         if (playerHand != null) {
-            for (Card card : playerHand.getCards()) {
+            for (int i = 0; i < playerHand.cardCount(); i++) {
+                Card card = playerHand.cardAt(i);
                 playerCards.getChildren().add(createCard(getRankString(card), card.getSuit().getSymbol()));
             }
             playerValueLabel.setText("Value: " + playerHand.getValue());
@@ -1065,7 +1068,8 @@ public class GUI extends Application implements GameStateListener {
 
                 HBox handCards = new HBox(cardSpacing);
                 handCards.setAlignment(Pos.CENTER);
-                for (Card card : hand.getCards()) {
+                for (int j = 0; j < hand.cardCount(); j++) {
+                    Card card = hand.cardAt(j);
                     handCards.getChildren().add(createCard(getRankString(card), card.getSuit().getSymbol()));
                 }
 
@@ -1090,13 +1094,11 @@ public class GUI extends Application implements GameStateListener {
     private void updateDealerDisplay() {
         dealerCards.getChildren().clear();
         Hand dealerHand = gameController.getDealer().getHand();
-        List<Card> dealerCardsList = dealerHand.getCards();
-
-        for (int i = 0; i < dealerCardsList.size(); i++) {
+        for (int i = 0; i < dealerHand.cardCount(); i++) {
             if (i == 1 && dealerHand.isHideSecondCard()) {
                 dealerCards.getChildren().add(createHiddenCard());
             } else {
-                Card card = dealerCardsList.get(i);
+                Card card = dealerHand.cardAt(i);
                 dealerCards.getChildren().add(createCard(getRankString(card), card.getSuit().getSymbol()));
             }
         }
@@ -1131,11 +1133,8 @@ public class GUI extends Application implements GameStateListener {
         hitButton.setDisable(hand.getValue() >= 21);
         standButton.setDisable(false);
 
-        boolean isSplitHand = gameController.getPlayer().getNumHands() > 1;
-        double betAmount = gameController.getPlayer().getBet(0).getAmount();
-
-        doubleButton.setDisable(isSplitHand || !hand.canDouble() || !gameController.getPlayer().canAfford(betAmount));
-        splitButton.setDisable(!hand.canSplit() || !gameController.getPlayer().canAfford(betAmount));
+        doubleButton.setDisable(!gameController.canDouble(handIndex));
+        splitButton.setDisable(!gameController.canSplit(handIndex));
     }
 
     private void setActionButtonsVisible(boolean visible) {
@@ -1157,7 +1156,7 @@ public class GUI extends Application implements GameStateListener {
         dealerCards.getChildren().clear();
 
         root.getChildren().removeIf(
-                node -> node instanceof Label && ((Label) node).getText().matches("WIN!|BUST|PUSH|BLACKJACK!"));
+                node -> node instanceof Label && ((Label) node).getText().matches("WIN!|BUST|PUSH|BLACKJACK!|SURRENDER"));
 
         playerValueLabel.setVisible(false);
         dealerValueLabel.setVisible(false);
@@ -1188,10 +1187,13 @@ public class GUI extends Application implements GameStateListener {
                     msg.append("Push ").append(" \n");
                     break;
                 case BLACKJACK:
-                    double bjAmount = bet.getAmount() * 1.5;
+                    double bjAmount = bet.getAmount() * gameController.getRules().getBlackjackPayout();
                     totalWinnings += bjAmount;
                     msg.append("BLACKJACK! +$").append(bjAmount).append(" \n");
                     break;
+                case SURRENDER:
+                    msg.append("Surrender -$").append(bet.getAmount() / 2).append(" \n");
+                    break;
                 case PENDING:
                     break;
             }
@@ -1214,6 +1216,8 @@ public class GUI extends Application implements GameStateListener {
                 return "PUSH";
             case BLACKJACK:
                 return "BLACKJACK!";
+            case SURRENDER:
+                return "SURRENDER";
             default:
                 return "";
         }
@@ -1,33 +1,58 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
 public class Game {
-  private Deck deck;
+  private static final Card.Rank[] RANKS = Card.Rank.values();
+
+  private Shoe deck;
   private Player player;
   private Dealer dealer;
+  private final TableRules rules;
   private GameStateListener listener;
+  private final List<ShoeObserver> shoeObservers = new ArrayList<>();
   private int numDecks;
   private double minimumBet;
-  private int runningCount;
+  private ReshufflePolicy reshufflePolicy = ReshufflePolicy.cutCard(0.75);
+  private int cutCardRemaining; // cards left when the cut card comes out, placed for every shoe
+  private CountTracker countTracker;
+  private final IntConsumer cardReturned = this::returnCard; // kept so collecting discards never allocates
+  private ExpectedValueCalculator expectedValueCalculator; // created on the first EV request
   private boolean roundInProgress;
   private Card dealerHiddenCard = null;
   private boolean insuranceOffered = false;
   private boolean insuranceResolved = false;
   private int customBetAmount = (int) minimumBet;
-  private double pairBetAmount = 0.0;
-  private boolean isPairBetPlaced = false;
-  private double twentyOnePlusThreeBetAmount = 0.0;
-  private boolean is21Plus3BetPlaced = false;
+  private SideBetTable sideBetTable = SideBetTable.standard();
+  // side bet stakes for the next round, indexed like sideBetTable
+  private double[] sideBetAmounts = new double[sideBetTable.size()];
   private boolean areSideBetsRemembered = false;
   private boolean blockAccessToSideBets = false;
 
   public Game(int numDecks, double startingMoney, double minimumBet) {
+    this(numDecks, startingMoney, minimumBet, RandomAlgorithm.L64X128_MIX.create());
+  }
+
+  // seeded generator makes every shuffle, and so the whole session, reproducible
+  public Game(int numDecks, double startingMoney, double minimumBet, RandomGenerator random) {
+    this(numDecks, startingMoney, minimumBet, random, TableRules.STANDARD);
+  }
+
+  public Game(int numDecks, double startingMoney, double minimumBet, RandomGenerator random, TableRules rules) {
+    this.rules = rules;
     this.numDecks = numDecks;
     this.minimumBet = minimumBet;
-    this.deck = new Deck(numDecks);
+    Deck standardShoe = new Deck(numDecks, random);
     // TODO: comment out below to run normal deck
-    // deck.createTestSplitDeck();
+    // standardShoe.createTestSplitDeck();
+    this.deck = standardShoe;
     this.player = new Player(startingMoney);
-    this.dealer = new Dealer();
-    this.runningCount = 0;
+    this.dealer = new Dealer(rules);
+    this.countTracker = new CountTracker(numDecks, CountingSystem.HI_LO);
     this.roundInProgress = false;
+    placeCutCard();
   }
 
   public void setGameStateListener(GameStateListener listener) {
@@ -47,16 +72,16 @@ public class Game {
     }
 
     // Check if player can afford main bet + side bets
-    double totalNeeded = betAmount;
-    if (isPairBetPlaced || is21Plus3BetPlaced) {
-        totalNeeded += pairBetAmount + twentyOnePlusThreeBetAmount;
-    }
+    double totalNeeded = betAmount + getTotalSideBetAmount();
 
     if (!player.canAfford(totalNeeded)) {
         notifyError("Insufficient funds for bet and side bets");
         return;
     }
 
+    // shuffle before side bets go down and listeners hear of the round, so both see the shoe it is dealt from
+    prepareRound();
+
     // clear previous round
     player.clearHands();
     dealer.clearHand();
@@ -69,13 +94,11 @@ public class Game {
     roundInProgress = true;
 
     // Place side bets on the Bet object if they were set before round started (only on hand 0)
-    if (isPairBetPlaced || is21Plus3BetPlaced) {
-        Bet bet = player.getBet(0);
-        if (pairBetAmount > 0) {
-            player.placePairBet(pairBetAmount, 0);
-        }
-        if (twentyOnePlusThreeBetAmount > 0) {
-            player.placeTwentyOnePlusThreeBet(twentyOnePlusThreeBetAmount, 0);
+    if (areSideBetsPlaced()) {
+        for (int i = 0; i < sideBetAmounts.length; i++) {
+            if (sideBetAmounts[i] > 0) {
+                player.placeSideBet(i, sideBetAmounts[i], 0);
+            }
         }
         
         // Update money display after side bets are placed
@@ -89,16 +112,34 @@ public class Game {
     if (listener != null) {
       listener.onRoundStart();
     }
-    // TODO:
-    // check if deck needs reshuffling AFTER onRoundStart
-    if (deck.getDecksRemaining() < numDecks * 0.25) {
-      reshuffleDeck();
-    }
 
     // deal initial cards
     dealInitialCards();
   }
 
+  // between rounds: last round's cards come off the table, a continuous shuffler takes them back,
+  // and the shoe is reshuffled if the cut card came out. startRound calls it first, callers sizing
+  // a bet from the count call it before that so the bet sees the new shoe; a second call does nothing
+  public void prepareRound() {
+    deck.collectDiscards(cardReturned);
+    if (isReshuffleDue()) {
+      reshuffleDeck();
+    }
+  }
+
+  // a discard going back into a continuous shuffler: the count and every observer take it back,
+  // except the count for a hole card never turned over, which it never counted
+  private void returnCard(int code) {
+    if (dealerHiddenCard != null && dealerHiddenCard.code() == code) {
+      dealerHiddenCard = null;
+    } else {
+      countTracker.uncount(code);
+    }
+    for (int i = 0; i < shoeObservers.size(); i++) {
+      shoeObservers.get(i).onCardReturned(code);
+    }
+  }
+
   // deal the initial 4 cards (2 to player, 2 to dealer)
   private void dealInitialCards() {
     // player first card
@@ -114,7 +155,7 @@ public class Game {
     player.addCardToHand(playerCard2, 0);
 
     // dealer second card (hidden)
-    dealerHiddenCard = drawCard();
+    dealerHiddenCard = drawFaceDownCard();
     dealer.addCard(dealerHiddenCard);
     dealer.hideSecondCard();
 
@@ -141,11 +182,12 @@ public class Game {
       return;
     }
 
-    boolean dealerBJ = dealer.isBlackjack();
+    // without a peek (European no hole card) a dealer blackjack only shows once the player has played
+    boolean dealerBJ = rules.isDealerPeeks() && dealer.isBlackjack();
 
     if (playerBJ || dealerBJ) {
-      dealer.revealCards();
-      resolveBlackjacks(playerBJ, dealerBJ);
+      revealDealerHiddenCard();
+      resolveBlackjacks(playerBJ, dealer.isBlackjack());
 
       if (listener != null) {
         listener.onRoundEnd(player, dealer, player.getBets());
@@ -222,6 +264,11 @@ public class Game {
       return;
     }
 
+    if (player.getBet(handIndex).isSplit() && !rules.isDoubleAfterSplit()) {
+      notifyError("Doubling after a split is not allowed");
+      return;
+    }
+
     try {
       player.doubleDown(handIndex);
       // GUI will handle animation and call completeDouble
@@ -251,6 +298,11 @@ public class Game {
       return;
     }
 
+    if (player.getNumHands() >= rules.getMaxSplitHands()) {
+      notifyError("Cannot split to more than " + rules.getMaxSplitHands() + " hands");
+      return;
+    }
+
     try {
       player.split(handIndex);
 
@@ -267,6 +319,37 @@ public class Game {
     }
   }
 
+  // player gives up the first hand for half the bet back, only as the first decision of the round
+  public void surrender(int handIndex) {
+    if (!roundInProgress) {
+      notifyError("No round in progress");
+      return;
+    }
+    if (!canSurrender(handIndex)) {
+      notifyError("Cannot surrender this hand");
+      return;
+    }
+
+    player.getBet(handIndex).setResult(Bet.BetResult.SURRENDER);
+    handleHandCompletion(handIndex);
+  }
+
+  public boolean canDouble(int handIndex) {
+    Bet bet = player.getBet(handIndex);
+    return player.getHand(handIndex).canDouble() && (!bet.isSplit() || rules.isDoubleAfterSplit())
+        && player.canAfford(bet.getAmount());
+  }
+
+  public boolean canSplit(int handIndex) {
+    return player.getHand(handIndex).canSplit() && player.getNumHands() < rules.getMaxSplitHands()
+        && player.canAfford(player.getBet(handIndex).getAmount());
+  }
+
+  public boolean canSurrender(int handIndex) {
+    return rules.isLateSurrender() && handIndex == 0 && player.getNumHands() == 1
+        && player.getHand(0).cardCount() == 2 && player.getBet(0).getResult() == Bet.BetResult.PENDING;
+  }
+
   // handle completion of a hand (either stood or busted)
   private void handleHandCompletion(int handIndex) {
     int nextHandIndex = handIndex + 1;
@@ -279,8 +362,8 @@ public class Game {
       }
     } else {
       // all player hands done - check if dealer needs to play
-      if (allHandsBusted()) {
-        // all hands busted, no need for dealer to play
+      if (allHandsResolved()) {
+        // all hands busted or surrendered, no need for dealer to play
         resolveAllHands();
         if (listener != null) {
           listener.onRoundEnd(player, dealer, player.getBets());
@@ -295,11 +378,10 @@ public class Game {
     }
   }
 
-  // check if all player hands have busted
-  private boolean allHandsBusted() {
+  // check if every player hand is already settled, busted or surrendered
+  private boolean allHandsResolved() {
     for (int i = 0; i < player.getNumHands(); i++) {
-      Hand hand = player.getHand(i);
-      if (!hand.isBust()) {
+      if (player.getBet(i).getResult() == Bet.BetResult.PENDING) {
         return false;
       }
     }
@@ -308,19 +390,12 @@ public class Game {
 
   // start dealer's turn - called by GUI
   public void startDealerPlay() {
-    dealer.revealCards();
-    if (dealerHiddenCard != null) {
-      runningCount += dealerHiddenCard.getCountValue();
-      dealerHiddenCard = null;
-    }
+    revealDealerHiddenCard();
     // GUI will handle reveal animation and then call dealerDrawCards
   }
 
   public void onDealerRevealComplete() {
-    if (dealerHiddenCard != null) {
-      runningCount += dealerHiddenCard.getCountValue();
-      dealerHiddenCard = null;
-    }
+    revealDealerHiddenCard();
     // Notify GUI it can start drawing dealer cards
     if (listener != null) {
       listener.onDealerDrawing(dealer);
@@ -360,11 +435,19 @@ public class Game {
   private void resolveAllHands() {
     int dealerValue = dealer.getValue();
     boolean dealerBust = dealer.isBust();
+    // only reached with a dealer blackjack when the dealer did not peek, it beats every hand left
+    boolean dealerBJ = dealer.isBlackjack();
 
     for (int i = 0; i < player.getNumHands(); i++) {
       Hand hand = player.getHand(i);
       Bet bet = player.getBet(i);
 
+      // late surrender only saves half the bet against a dealer without blackjack, without a peek
+      // that is only known now
+      if (dealerBJ && bet.getResult() == Bet.BetResult.SURRENDER) {
+        bet.setResult(Bet.BetResult.LOSE);
+      }
+
       // skip if already resolved (e.g., busted)
       if (bet.getResult() != Bet.BetResult.PENDING) {
         continue;
@@ -372,7 +455,9 @@ public class Game {
 
       int playerValue = hand.getValue();
 
-      if (dealerBust) {
+      if (dealerBJ) {
+        bet.setResult(Bet.BetResult.LOSE);
+      } else if (dealerBust) {
         bet.setResult(Bet.BetResult.WIN);
       } else if (playerValue > dealerValue) {
         bet.setResult(Bet.BetResult.WIN);
@@ -386,11 +471,30 @@ public class Game {
     payoutBets();
   }
 
+  // side bets like Buster Blackjack are settled on the dealer's final hand, so the dealer draws out
+  // even when busted hands or a blackjack decided the main bets without a dealer turn
+  private void playOutDealerForSideBets() {
+    Bet bet = player.betAt(0);
+    if (!bet.hasSideBets()) {
+      return;
+    }
+    for (int k = 0; k < sideBetTable.size(); k++) {
+      if (bet.getSideBetStake(k) > 0 && sideBetTable.getSideBet(k).needsDealerPlayedOut()) {
+        revealDealerHiddenCard();
+        while (dealer.mustHit() && !dealer.isBust()) {
+          dealer.addCard(drawCard());
+        }
+        return;
+      }
+    }
+  }
+
   // pay out all bets based on results
   private void payoutBets() {
-    for (int i = 0; i < player.getBets().size(); i++) {
-      Bet bet = player.getBets().get(i);
-      double payout = bet.getPayout();
+    playOutDealerForSideBets();
+    for (int i = 0; i < player.getNumHands(); i++) {
+      Bet bet = player.betAt(i);
+      double payout = bet.getPayout(rules);
 
       // handle insurance
       if (bet.isInsurancePlaced() && dealer.isBlackjack()) {
@@ -406,60 +510,32 @@ public class Game {
         }
       }
 
-      // handle Perfect Pair side bet (only for first hand)
-      if (i == 0 && bet.isPairBetPlaced()) {
+      // side bets are settled in one pass on the first two cards dealt (only for first hand)
+      // if split, those are the first cards of hands 0 and 1
+      if (i == 0 && bet.hasSideBets()) {
         Hand playerHand = player.getHand(0);
-        // if split, combine first cards of both hands for pair evaluation
-        if (player.getNumHands() >= 2) {
-          Hand playerHand1 = player.getHand(1);
-          Hand combinedHand = new Hand();
-          combinedHand.addCard(playerHand.getCards().get(0));
-          combinedHand.addCard(playerHand1.getCards().get(0));
-          playerHand = combinedHand;
-
-        }
+        int firstCode = playerHand.cardAt(0).code();
+        int secondCode = player.getNumHands() >= 2 ? player.getHand(1).cardAt(0).code() : playerHand.cardAt(1).code();
 
-        double pairPayout = DetermineSideBetPayout.calculatePairPayout(playerHand, bet.getCurrentPairBet());
-        if (pairPayout > 0) {
-          player.addMoney(pairPayout);
-          if (listener != null) {
-            listener.onSideBetWin(pairPayout);
+        for (int k = 0; k < sideBetTable.size(); k++) {
+          double stake = bet.getSideBetStake(k);
+          if (stake <= 0) {
+            continue;
           }
-        }
-
-      }
-
-      // handle 21+3 side bet (only for first hand)
-      if (i == 0 && bet.isTwentyOnePlusThreeBetPlaced()) {
-        Hand playerHand = player.getHand(0);
-        // if split, combine first cards of both hands for pair evaluation
-        if (player.getNumHands() >= 2) {
-          Hand playerHand1 = player.getHand(1);
-          Hand combinedHand = new Hand();
-          combinedHand.addCard(playerHand.getCards().get(0));
-          combinedHand.addCard(playerHand1.getCards().get(0));
-          playerHand = combinedHand;
-
-        }
-        // get dealer's first (visible) card
-        Card dealerUpCard = dealer.getHand().getCards().get(0);
-        double twentyOnePlusThreePayout = DetermineSideBetPayout.calculateTwentyOnePlusThreePayout(
-            playerHand, dealerUpCard, bet.getCurrentTwentyOnePlusThreeBet());
-        if (twentyOnePlusThreePayout > 0) {
-          player.addMoney(twentyOnePlusThreePayout);
-          if (listener != null) {
-            listener.onSideBetWin(twentyOnePlusThreePayout);
+          int outcome = sideBetTable.getSideBet(k).evaluate(firstCode, secondCode, dealer.getHand());
+          double sideBetPayout = stake * sideBetTable.getPayout(k, outcome);
+          if (sideBetPayout > 0) {
+            player.addMoney(sideBetPayout);
+            if (listener != null) {
+              listener.onSideBetWin(sideBetPayout);
+            }
           }
         }
-
       }
     }
 
     if (!areSideBetsRemembered) {
-        isPairBetPlaced = false;
-        is21Plus3BetPlaced = false;
-        pairBetAmount = 0.0;
-        twentyOnePlusThreeBetAmount = 0.0;
+        Arrays.fill(sideBetAmounts, 0.0);
     }
 
     if (listener != null) {
@@ -467,21 +543,100 @@ public class Game {
     }
   }
 
+  // the hole card is only counted once revealDealerHiddenCard turns it over
+  private void revealDealerHiddenCard() {
+    dealer.revealCards();
+    if (dealerHiddenCard != null) {
+      countTracker.count(dealerHiddenCard.code());
+      dealerHiddenCard = null;
+    }
+  }
+
   // draw a card from the deck and update running count
   private Card drawCard() {
+    Card card = drawFaceDownCard();
+    countTracker.count(card.code());
+    return card;
+  }
+
+  // deals a card the player cannot see yet, shoe observers still see every card
+  private Card drawFaceDownCard() {
     if (deck.isEmpty()) {
+      if (!reshufflePolicy.shufflesMidRound()) {
+        throw new IllegalStateException("Shoe ran out in the middle of a round");
+      }
       reshuffleDeck();
     }
 
     Card card = deck.drawCard();
-    runningCount += card.getCountValue();
+    for (int i = 0; i < shoeObservers.size(); i++) {
+      shoeObservers.get(i).onCardDrawn(card.code());
+    }
     return card;
   }
 
+  // true once the shoe is past the cut card, the next round will reshuffle first
+  // one comparison, so it is cheap enough to ask after every card
+  public boolean isReshuffleDue() {
+    return deck.getCardsRemaining() <= cutCardRemaining;
+  }
+
+  // where the cut card goes, e.g. 0.75 reshuffles once three quarters of the shoe are dealt
+  public void setPenetration(double penetration) {
+    setReshufflePolicy(ReshufflePolicy.cutCard(penetration));
+  }
+
+  // also places the cut card of the shoe in play again
+  public void setReshufflePolicy(ReshufflePolicy reshufflePolicy) {
+    this.reshufflePolicy = reshufflePolicy;
+    placeCutCard();
+  }
+
+  public ReshufflePolicy getReshufflePolicy() {
+    return reshufflePolicy;
+  }
+
+  private void placeCutCard() {
+    cutCardRemaining = reshufflePolicy.placeCutCard(numDecks * Card.NUM_CARDS, deck.getRandom());
+  }
+
+  // replaces the shoe with a fresh one shuffled by the given generator
+  public void startNewShoe(RandomGenerator random) {
+    deck.reset(random);
+    onShoeReshuffled();
+  }
+
+  // replaces the shoe with one already shuffled, e.g. the same shoe dealt to several games,
+  // and returns the old array for reuse
+  public int[] startNewShoe(int[] shuffledShoe) {
+    int[] old = deck.swapShoe(shuffledShoe);
+    onShoeReshuffled();
+    return old;
+  }
+
+  // observers see every card dealt and every reshuffle, e.g. a SideBetAnalyzer
+  public void addShoeObserver(ShoeObserver observer) {
+    shoeObservers.add(observer);
+  }
+
+  public void removeShoeObserver(ShoeObserver observer) {
+    shoeObservers.remove(observer);
+  }
+
   // reshuffle the deck
   private void reshuffleDeck() {
     deck.reset();
-    runningCount = 0;
+    onShoeReshuffled();
+  }
+
+  private void onShoeReshuffled() {
+    placeCutCard();
+    countTracker.reset(numDecks);
+    // a hole card dealt before the reshuffle belongs to the old shoe, revealing it must not count it
+    dealerHiddenCard = null;
+    for (int i = 0; i < shoeObservers.size(); i++) {
+      shoeObservers.get(i).onShoeReset(numDecks);
+    }
 
     if (listener != null) {
       listener.onDeckReshuffled(numDecks, deck.getCardsRemaining());
@@ -497,9 +652,12 @@ public class Game {
   public boolean checkFirstCardAce() {
     Hand dealerHand = dealer.getHand();
     boolean temp = dealerHand != null && dealerHand.isFirstCardAce();
-    if (temp && !insuranceOffered && listener != null) {
+    if (temp && !insuranceOffered) {
+      // offered even without a listener so headless rounds can still insure
       insuranceOffered = true;
-      listener.onInsuranceOffer();
+      if (listener != null) {
+        listener.onInsuranceOffer();
+      }
     }
     return temp;
   }
@@ -532,16 +690,45 @@ public class Game {
       if (index != 0) {
           return;
       }
+      double[] amounts = new double[sideBetTable.size()];
+      setAmount(amounts, StandardSideBet.PERFECT_PAIRS, pairAmount);
+      setAmount(amounts, StandardSideBet.TWENTY_ONE_PLUS_THREE, twentyOnePlusThreeAmount);
+      onSideBetsPlaced(amounts, areSideBetsRemembered);
+  }
+
+  // stakes for any side bets on the table, indexed like getSideBetTable()
+  public void onSideBetsPlaced(double[] amounts, boolean areSideBetsRemembered) {
       // Just store the amounts - actual deduction happens in startRound
-      this.pairBetAmount = pairAmount;
-      this.twentyOnePlusThreeBetAmount = twentyOnePlusThreeAmount;
-      this.isPairBetPlaced = pairAmount > 0;
-      this.is21Plus3BetPlaced = twentyOnePlusThreeAmount > 0;
+      for (int i = 0; i < sideBetAmounts.length; i++) {
+          sideBetAmounts[i] = i < amounts.length ? amounts[i] : 0.0;
+      }
 
       setAreSideBetsRemembered(areSideBetsRemembered);
       setBlockAccessToSideBets(true);
   }
 
+  private void setAmount(double[] amounts, SideBet sideBet, double amount) {
+      int index = sideBetTable.indexOf(sideBet);
+      if (index >= 0) {
+          amounts[index] = amount;
+      } else if (amount > 0) {
+          notifyError(sideBet.getName() + " is not offered at this table");
+      }
+  }
+
+  // changes which side bets are offered and what they pay, clears any pending side bets
+  public void setSideBetTable(SideBetTable sideBetTable) {
+    if (roundInProgress) {
+      throw new IllegalStateException("Cannot change side bets during a round");
+    }
+    this.sideBetTable = sideBetTable;
+    this.sideBetAmounts = new double[sideBetTable.size()];
+  }
+
+  public SideBetTable getSideBetTable() {
+    return sideBetTable;
+  }
+
   public void setCustomBetAmount(int amount) {
     this.customBetAmount = amount;
   }
@@ -563,23 +750,96 @@ public class Game {
     return dealer;
   }
 
-  public Deck getDeck() {
+  public Shoe getDeck() {
     return deck;
   }
 
+  // deals from another shoe from the next round on, e.g. a ContinuousShuffler
+  public void setShoe(Shoe shoe) {
+    if (roundInProgress) {
+      throw new IllegalStateException("Cannot change the shoe during a round");
+    }
+    if (shoe.getNumDecks() != numDecks) {
+      throw new IllegalArgumentException("Shoe must hold " + numDecks + " decks but holds " + shoe.getNumDecks());
+    }
+    this.deck = shoe;
+    onShoeReshuffled();
+  }
+
+  // running and true count of the first counting system, Hi-Lo unless changed
   public int getRunningCount() {
-    return runningCount;
+    return (int) Math.round(countTracker.getRunningCount(0));
   }
 
   public double getTrueCount() {
-    double decksRemaining = deck.getDecksRemaining();
-    return decksRemaining > 0 ? runningCount / decksRemaining : 0;
+    return countTracker.getTrueCount(0);
+  }
+
+  // counts the cards the player has seen with every given system at once, restarting from this point
+  public void setCountingSystems(CountingSystem... systems) {
+    this.countTracker = new CountTracker(numDecks, systems);
+  }
+
+  public CountTracker getCountTracker() {
+    return countTracker;
+  }
+
+  // cards the player has not seen per DealerProbabilities value index: the shoe plus the hole card
+  public int[] getUnseenValueCounts() {
+    int[] counts = new int[DealerProbabilities.NUM_VALUES];
+    for (Card.Rank rank : RANKS) {
+      counts[DealerProbabilities.valueIndex(rank.ordinal())] += deck.getRankCount(rank);
+    }
+    if (dealerHiddenCard != null) {
+      counts[dealerHiddenCard.getValue() - 2]++;
+    }
+    return counts;
+  }
+
+  // cards of one rank the player has not seen: the shoe plus the hole card
+  public int getUnseenRankCount(int rank) {
+    int count = deck.getRankCount(RANKS[rank]);
+    if (dealerHiddenCard != null && dealerHiddenCard.getRank().ordinal() == rank) {
+      count++;
+    }
+    return count;
+  }
+
+  // Deck.getCompositionHash() of the same unseen cards, hole card added back
+  public long getUnseenCompositionHash() {
+    long hash = deck.getCompositionHash();
+    if (dealerHiddenCard != null) {
+      int rank = dealerHiddenCard.getRank().ordinal();
+      int count = deck.getRankCount(dealerHiddenCard.getRank());
+      hash ^= Deck.zobrist(rank, count) ^ Deck.zobrist(rank, count + 1);
+    }
+    return hash;
+  }
+
+  // EV of each action for a hand in play, indexed by PlayerStrategy.Action ordinal, NaN if not allowed
+  // approximate the way ExpectedValueCalculator is by default: dealer odds fixed at this decision and
+  // split hands drawing independently, close enough to rank the actions for a hint
+  public double[] getExpectedValues(int handIndex) {
+    if (!roundInProgress) {
+      throw new IllegalStateException("No round in progress");
+    }
+    if (expectedValueCalculator == null) {
+      expectedValueCalculator = new ExpectedValueCalculator(rules);
+    }
+    int handState = player.getHand(handIndex).getState();
+    int pairRank = Hand.statePairRank(handState);
+    return expectedValueCalculator.evaluate(handState, dealer.getHand().cardAt(0), getUnseenValueCounts(),
+        pairRank >= 0 ? getUnseenRankCount(pairRank) : 0, canDouble(handIndex), canSplit(handIndex));
   }
 
   public boolean isRoundInProgress() {
     return roundInProgress;
   }
 
+  public TableRules getRules() {
+    return rules;
+  }
+
   public double getMinimumBet() {
     return minimumBet;
   }
@@ -597,19 +857,36 @@ public class Game {
   }
 
   public double getPairBetAmount() {
-    return pairBetAmount;
+    return getSideBetAmount(StandardSideBet.PERFECT_PAIRS);
   }
 
   public double getTwentyOnePlusThreeBetAmount() {
-    return twentyOnePlusThreeBetAmount;
+    return getSideBetAmount(StandardSideBet.TWENTY_ONE_PLUS_THREE);
+  }
+
+  public double getSideBetAmount(SideBet sideBet) {
+    int index = sideBetTable.indexOf(sideBet);
+    return index >= 0 ? sideBetAmounts[index] : 0.0;
+  }
+
+  public double getTotalSideBetAmount() {
+    double total = 0;
+    for (double amount : sideBetAmounts) {
+      total += amount;
+    }
+    return total;
   }
 
   public boolean isPairBetPlaced() {
-    return isPairBetPlaced;
+    return getPairBetAmount() > 0;
   }
 
   public boolean is21Plus3BetPlaced() {
-    return is21Plus3BetPlaced;
+    return getTwentyOnePlusThreeBetAmount() > 0;
+  }
+
+  public boolean areSideBetsPlaced() {
+    return getTotalSideBetAmount() > 0;
   }
 
   public boolean areSideBetsRemembered() {
@@ -1,4 +1,7 @@
 public class GameController implements GUIEventListener {
+    // the table the GUI deals: no doubling after a split, no surrender button
+    private static final TableRules RULES = TableRules.STANDARD.withDoubleAfterSplit(false);
+
     private Game game;
     private GameStateListener guiListener;
     
@@ -9,7 +12,7 @@ public class GameController implements GUIEventListener {
     @Override
     public void onCreateGameRequested(int numDecks, double startingMoney, double minimumBet) {
         // create the game
-        game = new Game(numDecks, startingMoney, minimumBet);
+        game = new Game(numDecks, startingMoney, minimumBet, RandomAlgorithm.L64X128_MIX.create(), RULES);
         game.setGameStateListener(guiListener);
         
         // notify GUI that game is created with initial state
@@ -101,6 +104,18 @@ public class GameController implements GUIEventListener {
         }
     }
     
+    public boolean canDouble(int handIndex) {
+        return game != null && game.canDouble(handIndex);
+    }
+
+    public boolean canSplit(int handIndex) {
+        return game != null && game.canSplit(handIndex);
+    }
+
+    public TableRules getRules() {
+        return game != null ? game.getRules() : RULES;
+    }
+    
     public void startDealerPlay() {
         if (game != null) {
             game.startDealerPlay();
@@ -0,0 +1,223 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+// runs the cells of a parameter sweep on a work-stealing pool
+// cells wait in a priority queue and each free worker takes the highest priority one; a cell's
+// shoes are split by ShoeRangeTask like SimulationRunner.runShoes, so idle workers steal from the
+// cells still running and each cell's result is bit-identical for any pool size
+// finished cells go to an optional ResultCache keyed by the cell and ENGINE_VERSION, a re-run
+// only simulates the cells that changed
+public class GridRunner {
+    // bump whenever a change to the game or the simulation alters results, so old cache files miss
+    public static final int ENGINE_VERSION = 1;
+
+    private static final RandomAlgorithm ALGORITHM = RandomAlgorithm.L64X128_MIX;
+
+    private final ForkJoinPool pool;
+    private final ResultCache cache;
+    private final AtomicLong sequence = new AtomicLong();
+
+    public GridRunner(ResultCache cache) {
+        this(new ForkJoinPool(Runtime.getRuntime().availableProcessors()), cache);
+    }
+
+    // cache may be null to always simulate
+    public GridRunner(ForkJoinPool pool, ResultCache cache) {
+        this.pool = pool;
+        this.cache = cache;
+    }
+
+    // every cell of the spec, in spec order
+    public Run submit(SweepSpec spec) {
+        return submit(spec.cells(), cell -> 0);
+    }
+
+    // higher priority cells start first, equal priorities in list order
+    public Run submit(List<SweepCell> cells, ToIntFunction<SweepCell> priority) {
+        Run run = new Run();
+        int queued = 0;
+        for (SweepCell cell : cells) {
+            Job job = new Job(cell, priority.applyAsInt(cell), sequence.getAndIncrement());
+            run.jobs.add(job);
+            SimulationResult cached = cache != null ? cache.get(job.cacheKey) : null;
+            if (cached != null) {
+                run.cachedCells.incrementAndGet();
+                job.future.complete(cached);
+            } else {
+                run.queue.add(job);
+                queued++;
+            }
+        }
+        // everything is queued before the first worker picks, so priorities hold from the start
+        for (int i = 0; i < queued; i++) {
+            pool.execute(run::runNext);
+        }
+        return run;
+    }
+
+    private SimulationResult playShoes(Job job, long firstShoe, long lastShoe) {
+        SweepCell cell = job.cell;
+        Game game = new Game(cell.getNumDecks(), SimulationRunner.SIMULATION_BANKROLL, cell.getMinimumBet(),
+                ALGORITHM.create(cell.getSeed()), cell.getRules());
+        game.setReshufflePolicy(cell.getReshufflePolicy());
+        game.setCountingSystems(cell.getCountingSystem());
+        // counting and basic strategy only need ranks
+        game.getDeck().setRankOnly(true);
+        RoundEngine engine = new RoundEngine(game, cell.getStrategy());
+
+        SimulationResult result = new SimulationResult();
+        for (long shoe = firstShoe; shoe < lastShoe; shoe++) {
+            if (job.future.isCancelled()) {
+                throw new CancellationException("Cell cancelled: " + cell);
+            }
+            game.startNewShoe(ALGORITHM.create(SimulationRunner.shoeSeed(cell.getSeed(), shoe)));
+            while (!game.isReshuffleDue()) {
+                double bet = cell.betFor(game.getCountTracker());
+                result.recordRound(bet, engine.playRound(bet));
+            }
+        }
+        return result;
+    }
+
+    // one sweep cell and what became of it
+    private static final class Job {
+        final SweepCell cell;
+        final int priority;
+        final long sequence;
+        final String cacheKey;
+        final CompletableFuture<SimulationResult> future = new CompletableFuture<>();
+
+        Job(SweepCell cell, int priority, long sequence) {
+            this.cell = cell;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.cacheKey = ResultCache.key(cell.describe() + " algorithm=" + ALGORITHM, ENGINE_VERSION);
+        }
+    }
+
+    // the cells of one submit, their results as they finish, and a way to stop them
+    public final class Run {
+        private final PriorityBlockingQueue<Job> queue = new PriorityBlockingQueue<>(16,
+                Comparator.<Job>comparingInt(job -> -job.priority).thenComparingLong(job -> job.sequence));
+        private final List<Job> jobs = new ArrayList<>();
+        private final AtomicInteger cachedCells = new AtomicInteger();
+        private final AtomicInteger computedCells = new AtomicInteger();
+        private final AtomicInteger cacheWriteFailures = new AtomicInteger();
+
+        // one call per queued cell, always taking whichever cell has the highest priority by then
+        private void runNext() {
+            Job job = queue.poll();
+            if (job == null || job.future.isDone()) {
+                return; // cancelled while queued
+            }
+            try {
+                long start = System.nanoTime();
+                SimulationResult result = new ShoeRangeTask<>(
+                        (firstShoe, lastShoe) -> playShoes(job, firstShoe, lastShoe),
+                        SimulationResult::merge, 0, job.cell.getShoes()).invoke();
+                result.setElapsedNanos(System.nanoTime() - start);
+                if (cache != null) {
+                    try {
+                        cache.put(job.cacheKey, job.cell.describe(), result);
+                    } catch (IOException e) {
+                        cacheWriteFailures.incrementAndGet(); // the result itself is still good
+                    }
+                }
+                computedCells.incrementAndGet();
+                job.future.complete(result);
+            } catch (CancellationException e) {
+                job.future.cancel(false);
+            } catch (RuntimeException e) {
+                job.future.completeExceptionally(e);
+            }
+        }
+
+        // cells still queued never start, running ones stop at their next shoe
+        public void cancel() {
+            for (Job job : jobs) {
+                job.future.cancel(false);
+            }
+        }
+
+        public CompletableFuture<SimulationResult> result(SweepCell cell) {
+            for (Job job : jobs) {
+                if (job.cell.equals(cell)) {
+                    return job.future;
+                }
+            }
+            throw new IllegalArgumentException("Cell is not part of this run: " + cell);
+        }
+
+        // waits for every cell and returns the results in submit order, cancelled cells left out
+        // throws the first failure as a CompletionException
+        public Map<SweepCell, SimulationResult> awaitResults() {
+            Map<SweepCell, SimulationResult> results = new LinkedHashMap<>();
+            for (Job job : jobs) {
+                try {
+                    results.put(job.cell, job.future.join());
+                } catch (CancellationException e) {
+                    // left out
+                }
+            }
+            return results;
+        }
+
+        public List<SweepCell> getCells() {
+            List<SweepCell> cells = new ArrayList<>();
+            for (Job job : jobs) {
+                cells.add(job.cell);
+            }
+            return cells;
+        }
+
+        public int getCachedCells() {
+            return cachedCells.get();
+        }
+
+        public int getComputedCells() {
+            return computedCells.get();
+        }
+
+        public int getCacheWriteFailures() {
+            return cacheWriteFailures.get();
+        }
+    }
+
+    // usage: GridRunner spec.properties [cacheDirectory]
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1) {
+            System.out.println("usage: GridRunner spec.properties [cacheDirectory]");
+            return;
+        }
+        SweepSpec spec = SweepSpec.load(Path.of(args[0]));
+        ResultCache cache = new ResultCache(Path.of(args.length > 1 ? args[1] : "sweep-cache"));
+        GridRunner runner = new GridRunner(cache);
+
+        long start = System.nanoTime();
+        Run run = runner.submit(spec);
+        System.out.println("Sweeping " + run.getCells().size() + " cells (" + run.getCachedCells() + " cached) on "
+                + runner.pool.getParallelism() + " workers...");
+        try {
+            for (Map.Entry<SweepCell, SimulationResult> entry : run.awaitResults().entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+            }
+        } catch (CompletionException e) {
+            System.out.println("Sweep failed: " + e.getCause());
+        }
+        System.out.printf("computed=%d cached=%d elapsed=%.2fs%n", run.getComputedCells(), run.getCachedCells(),
+                (System.nanoTime() - start) / 1e9);
+    }
+}
@@ -1,49 +1,90 @@
 import java.util.*;
 public class Hand {
+    // layout of getState(): total in bits 0-7, soft flag in bit 8,
+    // pair rank + 1 in bits 9-12 (0 when not a pair), card count from bit 16
+    private static final int SOFT_BIT = 1 << 8;
+    private static final int PAIR_SHIFT = 9;
+    private static final int COUNT_SHIFT = 16;
+
     private List<Card> cards;
+    private List<Card> cardsView; // read-only view handed out by getCards()
     private boolean hideCard;
+    // running totals kept up to date by addCard so getValue never rescans the cards
+    private int hardTotal; // aces counted as 1
+    private int aces;
+    private int value;
+    private boolean soft;
     
     public Hand() {
         this.cards = new ArrayList<>();
+        this.cardsView = Collections.unmodifiableList(cards);
         this.hideCard = false;
     }
     
     public void addCard(Card card) {
         cards.add(card);
+        if (card.getRank() == Card.Rank.ACE) {
+            aces++;
+            hardTotal += 1;
+        } else {
+            hardTotal += card.getValue();
+        }
+        // at most one ace can count as 11 without busting
+        soft = aces > 0 && hardTotal <= 11;
+        value = soft ? hardTotal + 10 : hardTotal;
     }
     
+    // live read-only view, copy it if it has to outlive the hand's next change
     public List<Card> getCards() {
-        return new ArrayList<>(cards);
+        return cardsView;
+    }
+
+    public Card cardAt(int index) {
+        return cards.get(index);
+    }
+
+    public int cardCount() {
+        return cards.size();
     }
     
     public int getValue() {
-        int value = 0;
-        int aces = 0;
-        
-        for (Card card : cards) {
-            if (card.getRank() == Card.Rank.ACE) {
-                aces++;
-                value += 11;
-            } else {
-                value += card.getValue();
-            }
-        }
-        
-        
-        while (value > 21 && aces > 0) {
-            value -= 10;
-            aces--;
-        }
-        
         return value;
     }
+
+    // true when an ace is being counted as 11
+    public boolean isSoft() {
+        return soft;
+    }
+
+    // total, soft flag, pair rank and card count packed into one int, see stateXxx() to read it back
+    public int getState() {
+        int pairRank = canSplit() ? cards.get(0).getRank().ordinal() + 1 : 0;
+        return value | (soft ? SOFT_BIT : 0) | (pairRank << PAIR_SHIFT) | (cards.size() << COUNT_SHIFT);
+    }
+
+    public static int stateTotal(int state) {
+        return state & 0xFF;
+    }
+
+    public static boolean stateIsSoft(int state) {
+        return (state & SOFT_BIT) != 0;
+    }
+
+    // rank ordinal of the pair, or -1 if the hand is not a splittable pair
+    public static int statePairRank(int state) {
+        return ((state >>> PAIR_SHIFT) & 0xF) - 1;
+    }
+
+    public static int stateCardCount(int state) {
+        return state >>> COUNT_SHIFT;
+    }
     
     public boolean isBust() {
         return getValue() > 21;
     }
     
     public boolean isBlackjack() {
-        return cards.size() == 2 && getValue() == 21;
+        return cards.size() == 2 && value == 21;
     }
 
     public boolean isFirstCardAce() {
@@ -64,20 +105,7 @@ public class Hand {
         if(!canSplit()) {
             return false;
         }
-        String Hearts = Card.Suit.HEARTS.getSymbol();
-        String Diamonds = Card.Suit.DIAMONDS.getSymbol();
-        String Clubs = Card.Suit.CLUBS.getSymbol();
-        String Spades = Card.Suit.SPADES.getSymbol();
-
-        String firstCardSuit = cards.get(0).getSuit().getSymbol();
-        String secondCardSuit = cards.get(1).getSuit().getSymbol();
-
-        boolean firstRed = firstCardSuit.equals(Hearts) || firstCardSuit.equals(Diamonds);
-        boolean secondRed = secondCardSuit.equals(Hearts) || secondCardSuit.equals(Diamonds);
-        boolean firstBlack = firstCardSuit.equals(Clubs) || firstCardSuit.equals(Spades);
-        boolean secondBlack = secondCardSuit.equals(Clubs) || secondCardSuit.equals(Spades);
-
-        return (firstRed && secondRed) || (firstBlack && secondBlack);
+        return cards.get(0).getSuit().isRed() == cards.get(1).getSuit().isRed();
     }
 
     public boolean isMixedPair() {
@@ -99,5 +127,9 @@ public class Hand {
     public void clear() {
         cards.clear();
         hideCard = false;
+        hardTotal = 0;
+        aces = 0;
+        value = 0;
+        soft = false;
     }
 }
@@ -4,12 +4,17 @@ public class Player {
     private double money;
     private List<Hand> hands;
     private List<Bet> bets;
+    // read-only views handed out by getHands() and getBets()
+    private List<Hand> handsView;
+    private List<Bet> betsView;
     private int currentHandIndex;
 
     public Player(double startingMoney) {
         this.money = startingMoney;
         this.hands = new ArrayList<>();
         this.bets = new ArrayList<>();
+        this.handsView = Collections.unmodifiableList(hands);
+        this.betsView = Collections.unmodifiableList(bets);
         this.currentHandIndex = 0;
     }
 
@@ -67,12 +72,12 @@ public class Player {
         originalBet.setSplit(true);
 
         // moves the 2nd card to the new hand
-        List<Card> cards = originalHand.getCards();
-        newHand.addCard(cards.get(1));
+        Card firstCard = originalHand.cardAt(0);
+        newHand.addCard(originalHand.cardAt(1));
 
         // adds back first card to the original hand
         originalHand.clear();
-        originalHand.addCard(cards.get(0));
+        originalHand.addCard(firstCard);
 
         // add the new hand and bet
         hands.add(handIndex + 1, newHand);
@@ -89,16 +94,22 @@ public class Player {
         return index < hands.size() ? hands.get(index) : null;
     }
 
+    // live read-only view of the hands
     public List<Hand> getHands() {
-        return new ArrayList<>(hands);
+        return handsView;
     }
 
     public Bet getBet(int index) {
         return index < bets.size() ? bets.get(index) : null;
     }
 
+    // live read-only view of the bets
     public List<Bet> getBets() {
-        return new ArrayList<>(bets);
+        return betsView;
+    }
+
+    public Bet betAt(int index) {
+        return bets.get(index);
     }
 
     public int getNumHands() {
@@ -145,31 +156,17 @@ public class Player {
         bet.placeInsuranceBet(insuranceAmount);
     }
 
-    public void placePairBet(double pairAmount, int index) {
-        Bet bet = bets.get(index);
-        if (bet == null) {
-            throw new IllegalArgumentException("No bet found for hand index");
-        }
-
-        if (pairAmount > money) {
-            throw new IllegalArgumentException("Insufficient funds for pair bet");
-        }
-
-        money -= pairAmount;
-        bet.placePairBet(pairAmount);
-    }
-
-    public void placeTwentyOnePlusThreeBet(double amount, int index) {
+    public void placeSideBet(int sideBetIndex, double amount, int index) {
         Bet bet = bets.get(index);
         if (bet == null) {
             throw new IllegalArgumentException("No bet found for hand index");
         }
 
         if (amount > money) {
-            throw new IllegalArgumentException("Insufficient funds for 21+3 bet");
+            throw new IllegalArgumentException("Insufficient funds for side bet");
         }
 
         money -= amount;
-        bet.placeTwentyOnePlusThreeBet(amount);
+        bet.placeSideBet(sideBetIndex, amount);
     }
 }
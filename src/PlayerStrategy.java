@@ -0,0 +1,40 @@
+public interface PlayerStrategy {
+
+    enum Action {
+        HIT, STAND, DOUBLE, SPLIT
+    }
+
+    /**
+     * Called for every decision the player has to make on a hand
+     * @param handState The hand being played, packed by Hand.getState()
+     * @param dealerUpCard The dealer's visible card
+     * @param canDouble Whether doubling is allowed and affordable
+     * @param canSplit Whether splitting is allowed and affordable
+     * @return The action to take
+     */
+    Action decide(int handState, Card dealerUpCard, boolean canDouble, boolean canSplit);
+
+    /**
+     * Called when the dealer shows an ace
+     * @param handState The player's first hand, packed by Hand.getState()
+     * @param dealerUpCard The dealer's visible card
+     * @return true to take insurance
+     */
+    default boolean takeInsurance(int handState, Card dealerUpCard) {
+        return false;
+    }
+
+    /**
+     * Called once per round, before the first decision, when the table allows late surrender
+     * @param handState The player's hand, packed by Hand.getState()
+     * @param dealerUpCard The dealer's visible card
+     * @return true to give up the hand for half the bet
+     */
+    default boolean surrender(int handState, Card dealerUpCard) {
+        return false;
+    }
+
+    // hits below 17 like the dealer, never doubles, splits or takes insurance
+    PlayerStrategy MIMIC_DEALER = (handState, dealerUpCard, canDouble, canSplit) ->
+            Hand.stateTotal(handState) < 17 ? Action.HIT : Action.STAND;
+}
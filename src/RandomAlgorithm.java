@@ -0,0 +1,29 @@
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+// random generators the shoe can be shuffled with, all seedable so a session can be replayed
+public enum RandomAlgorithm {
+    L64X128_MIX("L64X128MixRandom"),
+    XOROSHIRO128_PLUS_PLUS("Xoroshiro128PlusPlus"),
+    SPLITTABLE("SplittableRandom"),
+    LEGACY("Random");
+
+    private final String algorithmName;
+
+    RandomAlgorithm(String algorithmName) {
+        this.algorithmName = algorithmName;
+    }
+
+    public String getAlgorithmName() {
+        return algorithmName;
+    }
+
+    public RandomGenerator create(long seed) {
+        return RandomGeneratorFactory.of(algorithmName).create(seed);
+    }
+
+    // seeded from system entropy, for play where nothing needs replaying
+    public RandomGenerator create() {
+        return RandomGeneratorFactory.of(algorithmName).create();
+    }
+}
@@ -0,0 +1,97 @@
+import java.util.random.RandomGenerator;
+
+public interface ReshufflePolicy {
+
+    /**
+     * Called for every freshly shuffled shoe, the game then compares against the result on every card
+     * @param shoeSize Cards in the full shoe
+     * @param random The shoe's generator, for policies that place the cut card at random
+     * @return Cards left in the shoe when the cut card comes out, the next round starts with a
+     *         reshuffle once the shoe is down to this many; -1 never reshuffles between rounds
+     */
+    int placeCutCard(int shoeSize, RandomGenerator random);
+
+    /**
+     * @return true to refill an empty shoe in the middle of a round, false to only ever shuffle
+     *         between rounds, running out mid-round is then an error
+     */
+    default boolean shufflesMidRound() {
+        return true;
+    }
+
+    // cards left when the cut card is at the given penetration: reshuffles once fewer than
+    // shoeSize * (1 - penetration) cards remain
+    static int cardsBehindCut(int shoeSize, double penetration) {
+        return (int) Math.ceil(shoeSize * (1 - penetration)) - 1;
+    }
+
+    // cut card always at the same depth, e.g. 0.75 for three quarters of the shoe
+    static ReshufflePolicy cutCard(double penetration) {
+        if (!(penetration > 0 && penetration < 1)) {
+            throw new IllegalArgumentException("Penetration must be between 0 and 1: " + penetration);
+        }
+        return named("cutCard(" + penetration + ")", (shoeSize, random) -> cardsBehindCut(shoeSize, penetration));
+    }
+
+    // cut card placed by hand, anywhere between the two depths with equal chance for each card
+    static ReshufflePolicy randomCutCard(double minPenetration, double maxPenetration) {
+        if (!(minPenetration > 0 && minPenetration <= maxPenetration && maxPenetration < 1)) {
+            throw new IllegalArgumentException("Penetrations must satisfy 0 < min <= max < 1: "
+                    + minPenetration + ", " + maxPenetration);
+        }
+        return named("randomCutCard(" + minPenetration + "," + maxPenetration + ")", (shoeSize, random) -> {
+            int deepest = cardsBehindCut(shoeSize, maxPenetration);
+            int shallowest = cardsBehindCut(shoeSize, minPenetration);
+            return deepest == shallowest ? deepest : random.nextInt(deepest, shallowest + 1);
+        });
+    }
+
+    // idealised continuous shuffling machine: every card goes straight back in, so each round is
+    // dealt from a freshly shuffled full shoe
+    ReshufflePolicy CONTINUOUS_SHUFFLER = named("continuousShuffler", (shoeSize, random) -> shoeSize - 1);
+
+    // no cut card: deals down until fewer than reserveCards remain at the end of a round and never
+    // shuffles during one, the reserve has to cover the longest round played
+    static ReshufflePolicy endOfRoundOnly(int reserveCards) {
+        if (reserveCards < 1) {
+            throw new IllegalArgumentException("Reserve must be at least one card: " + reserveCards);
+        }
+        return new ReshufflePolicy() {
+            @Override
+            public int placeCutCard(int shoeSize, RandomGenerator random) {
+                return reserveCards - 1;
+            }
+
+            @Override
+            public boolean shufflesMidRound() {
+                return false;
+            }
+
+            @Override
+            public String toString() {
+                return "endOfRoundOnly(" + reserveCards + ")";
+            }
+        };
+    }
+
+    // the policy with a stable description as its toString, the built-in policies all have one
+    // so a policy can be part of a cache key, e.g. SweepCell.describe()
+    static ReshufflePolicy named(String description, ReshufflePolicy policy) {
+        return new ReshufflePolicy() {
+            @Override
+            public int placeCutCard(int shoeSize, RandomGenerator random) {
+                return policy.placeCutCard(shoeSize, random);
+            }
+
+            @Override
+            public boolean shufflesMidRound() {
+                return policy.shufflesMidRound();
+            }
+
+            @Override
+            public String toString() {
+                return description;
+            }
+        };
+    }
+}
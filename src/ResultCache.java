@@ -0,0 +1,82 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Properties;
+
+// finished simulation results on disk, one small properties file per key
+// a key is the SHA-256 of the configuration plus an engine version, so changing either
+// simply misses and old files are never read as current
+// files are written to a temporary name and moved into place, so a crash or another
+// process never leaves a half written result behind
+public class ResultCache {
+    private final Path directory;
+
+    public ResultCache(Path directory) throws IOException {
+        this.directory = Files.createDirectories(directory);
+    }
+
+    // stable key for a configuration string under an engine version
+    public static String key(String configuration, int engineVersion) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(("engine=" + engineVersion + "\n" + configuration)
+                    .getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    // the stored result, or null if there is none or it cannot be read
+    public SimulationResult get(String key) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file(key))) {
+            properties.load(reader);
+            return new SimulationResult(
+                    Long.parseLong(properties.getProperty("rounds")),
+                    Double.parseDouble(properties.getProperty("totalBet")),
+                    Double.parseDouble(properties.getProperty("netResult")),
+                    Double.parseDouble(properties.getProperty("sumOfSquares")));
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            return null; // damaged entry, treated as missing and overwritten by the next put
+        }
+    }
+
+    // description is kept in the file for whoever reads it, it plays no part in lookups
+    public void put(String key, String description, SimulationResult result) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("config", description);
+        properties.setProperty("rounds", String.valueOf(result.getRounds()));
+        properties.setProperty("totalBet", String.valueOf(result.getTotalBet()));
+        properties.setProperty("netResult", String.valueOf(result.getNetResult()));
+        properties.setProperty("sumOfSquares", String.valueOf(result.getSumOfSquares()));
+
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try {
+            try (Writer writer = Files.newBufferedWriter(temp)) {
+                properties.store(writer, null);
+            }
+            Files.move(temp, file(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path file(String key) {
+        return directory.resolve(key + ".properties");
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+}
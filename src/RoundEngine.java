@@ -0,0 +1,102 @@
+public class RoundEngine {
+    private final Game game;
+    private final PlayerStrategy strategy;
+
+    public RoundEngine(Game game, PlayerStrategy strategy) {
+        this.game = game;
+        this.strategy = strategy;
+    }
+
+    // plays one full round synchronously and returns the player's net win/loss
+    // drives the same Game methods the GUI calls after each animation, so the rules stay in one place
+    public double playRound(double betAmount) {
+        Player player = game.getPlayer();
+        Dealer dealer = game.getDealer();
+        double moneyBefore = player.getMoney();
+
+        game.startRound(betAmount);
+        if (!game.isRoundInProgress()) {
+            throw new IllegalStateException("Could not start round with bet: $" + betAmount);
+        }
+
+        Card dealerUpCard = dealer.getHand().cardAt(0);
+
+        // blackjack check, pauses for insurance if the dealer shows an ace
+        game.onInitialDealComplete();
+        if (dealer.getHand().isFirstCardAce()) {
+            Bet bet = player.getBet(0);
+            boolean insure = strategy.takeInsurance(player.getHand(0).getState(), dealerUpCard)
+                    && player.canAfford(bet.getAmount() / 2);
+            game.acceptedInsurance(insure);
+        }
+
+        // surrender, if offered, comes before any other decision and ends the round for the player
+        if (game.isRoundInProgress() && game.canSurrender(0)
+                && strategy.surrender(player.getHand(0).getState(), dealerUpCard)) {
+            game.surrender(0);
+        }
+
+        // player hands, split hands are appended after the current one
+        for (int handIndex = 0; game.isRoundInProgress() && handIndex < player.getNumHands(); handIndex++) {
+            playHand(player, handIndex, dealerUpCard);
+        }
+
+        // dealer plays if at least one hand is still standing
+        if (game.isRoundInProgress()) {
+            game.startDealerPlay();
+            while (dealer.mustHit() && !dealer.isBust()) {
+                game.dealerHit();
+            }
+            game.finalizeDealerPlay();
+        }
+
+        return player.getMoney() - moneyBefore;
+    }
+
+    private void playHand(Player player, int handIndex, Card dealerUpCard) {
+        Hand hand = player.getHand(handIndex);
+
+        // same as the GUI, a hand stops taking actions once it reaches 21
+        while (hand.getValue() < 21) {
+            boolean canDouble = game.canDouble(handIndex);
+            boolean canSplit = game.canSplit(handIndex);
+
+            PlayerStrategy.Action action = strategy.decide(hand.getState(), dealerUpCard, canDouble, canSplit);
+            switch (action) {
+                case HIT:
+                    game.onHitAnimationComplete(handIndex);
+                    if (hand.isBust()) {
+                        return; // game already moved on to the next hand
+                    }
+                    break;
+                case DOUBLE:
+                    if (!canDouble) {
+                        throw new IllegalStateException("Strategy doubled a hand that cannot be doubled");
+                    }
+                    game.doubleDown(handIndex);
+                    game.onDoubleAnimationComplete(handIndex);
+                    return;
+                case SPLIT:
+                    if (!canSplit) {
+                        throw new IllegalStateException("Strategy split a hand that cannot be split");
+                    }
+                    game.split(handIndex);
+                    break;
+                case STAND:
+                default:
+                    game.stand(handIndex);
+                    return;
+            }
+        }
+
+        game.stand(handIndex);
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public PlayerStrategy getStrategy() {
+        return strategy;
+    }
+}
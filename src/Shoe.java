@@ -0,0 +1,84 @@
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+
+public interface Shoe {
+
+    /**
+     * Deals the next card
+     * @return The card, removed from the shoe
+     * @throws IllegalStateException if the shoe is empty
+     */
+    Card drawCard();
+
+    /**
+     * Deals the next card as its code, without going through a Card
+     * @return The card code, see Card.code()
+     */
+    int drawCode();
+
+    /**
+     * @return The card the next draw will deal, or null if the shoe is empty
+     */
+    Card peek();
+
+    boolean isEmpty();
+
+    /**
+     * @return Cards that can still be dealt, cards on the table not included
+     */
+    int getCardsRemaining();
+
+    int getNumDecks();
+
+    double getDecksRemaining();
+
+    /**
+     * @param rank The rank to count
+     * @return Cards of the rank that can still be dealt
+     */
+    int getRankCount(Card.Rank rank);
+
+    /**
+     * @return Zobrist hash of the rank counts, the same value Deck.compositionHash gives for them
+     */
+    long getCompositionHash();
+
+    /**
+     * Puts every card back and shuffles them with the shoe's current generator
+     */
+    void reset();
+
+    /**
+     * Puts every card back and shuffles them with the given generator, also used for later resets
+     * @param random The generator
+     */
+    void reset(RandomGenerator random);
+
+    /**
+     * Puts in a full shoe that was shuffled elsewhere
+     * @param shuffledShoe Every card code of the shoe, in the order to deal them
+     * @return The old array, for reuse
+     */
+    int[] swapShoe(int[] shuffledShoe);
+
+    /**
+     * Lets the shoe track ranks alone when suits never matter, shoes that always track suits ignore it
+     * @param rankOnly true to deal ranks only
+     */
+    void setRankOnly(boolean rankOnly);
+
+    boolean isRankOnly();
+
+    /**
+     * @return The generator shuffling this shoe
+     */
+    RandomGenerator getRandom();
+
+    /**
+     * Called between rounds, once the cards of the last round are off the table
+     * Shoes that take discards back, like a continuous shuffling machine, put them in here
+     * @param returned Told the code of every card put back, so counts can take it back too
+     */
+    default void collectDiscards(IntConsumer returned) {
+    }
+}
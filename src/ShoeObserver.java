@@ -0,0 +1,19 @@
+public interface ShoeObserver {
+    /**
+     * Called for every card dealt from the shoe, including the dealer's hidden card
+     * @param code The card's code, see Card.code()
+     */
+    void onCardDrawn(int code);
+
+    /**
+     * Called for every card a continuous shuffler takes back between rounds, it can be dealt again
+     * @param code The card's code, see Card.code()
+     */
+    void onCardReturned(int code);
+
+    /**
+     * Called after the shoe has been reshuffled and is full again
+     * @param numDecks Number of decks in the shoe
+     */
+    void onShoeReset(int numDecks);
+}
@@ -0,0 +1,43 @@
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+// plays a range of seeded shoes on a fork/join pool, halving it down to SHOES_PER_TASK shoes a task
+// the split points and the merge order only depend on the range, so results summed in floating
+// point come out bit-identical for any pool size
+@SuppressWarnings("serial") // never serialized, RecursiveTask just happens to be Serializable
+public class ShoeRangeTask<R> extends RecursiveTask<R> {
+    // fixed so the task tree, and with it the merge order, never depends on the core count
+    public static final long SHOES_PER_TASK = 256;
+
+    // plays shoes [firstShoe, lastShoe) on the calling worker
+    public interface ShoePlayer<R> {
+        R play(long firstShoe, long lastShoe);
+    }
+
+    private final ShoePlayer<R> player;
+    private final BinaryOperator<R> merge;
+    private final long firstShoe;
+    private final long lastShoe;
+
+    // merge is always called as merge(left, right)
+    public ShoeRangeTask(ShoePlayer<R> player, BinaryOperator<R> merge, long firstShoe, long lastShoe) {
+        this.player = player;
+        this.merge = merge;
+        this.firstShoe = firstShoe;
+        this.lastShoe = lastShoe;
+    }
+
+    @Override
+    protected R compute() {
+        if (lastShoe - firstShoe <= SHOES_PER_TASK) {
+            return player.play(firstShoe, lastShoe);
+        }
+        long middle = firstShoe + (lastShoe - firstShoe) / 2;
+        ShoeRangeTask<R> left = new ShoeRangeTask<>(player, merge, firstShoe, middle);
+        ShoeRangeTask<R> right = new ShoeRangeTask<>(player, merge, middle, lastShoe);
+        left.fork();
+        R rightResult = right.compute();
+        // always left then right so the floating point sums come out the same
+        return merge.apply(left.join(), rightResult);
+    }
+}
@@ -0,0 +1,38 @@
+public class ShuffleBenchmark {
+    private static final long SEED = 42;
+
+    // usage: ShuffleBenchmark [numDecks] [shuffles]
+    public static void main(String[] args) {
+        int numDecks = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int shuffles = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+
+        // shuffling is done card by card as the shoe is dealt, so time reset plus dealing every card
+        System.out.println("Shuffling and dealing a " + numDecks + " deck shoe " + shuffles + " times per algorithm");
+        for (RandomAlgorithm algorithm : RandomAlgorithm.values()) {
+            Deck deck = new Deck(numDecks, algorithm.create(SEED));
+
+            // warm up so the JIT has compiled the shuffle loop before timing
+            int checksum = runShuffles(deck, shuffles / 4);
+
+            long start = System.nanoTime();
+            checksum += runShuffles(deck, shuffles);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%-24s %12.0f shuffles/sec %8.1f ns/card (checksum %d)%n",
+                    algorithm.getAlgorithmName(), shuffles / seconds,
+                    seconds * 1e9 / ((double) shuffles * numDecks * Card.NUM_CARDS), checksum);
+        }
+    }
+
+    private static int runShuffles(Deck deck, int shuffles) {
+        int checksum = 0;
+        for (int i = 0; i < shuffles; i++) {
+            deck.reset();
+            // keeps the shuffle from being optimized away
+            while (!deck.isEmpty()) {
+                checksum += deck.drawCode();
+            }
+        }
+        return checksum;
+    }
+}
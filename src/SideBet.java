@@ -0,0 +1,38 @@
+public interface SideBet {
+    /**
+     * Name used for this bet in paytable config files
+     * @return The bet's name
+     */
+    String getName();
+
+    /**
+     * Names of every outcome, index 0 is always the losing outcome
+     * @return Outcome names indexed by outcome
+     */
+    String[] getOutcomes();
+
+    /**
+     * Paytable used when the config does not override it. A winning outcome pays
+     * the stake times its entry, the stake itself was taken when the bet was placed
+     * @return Payout per unit staked, indexed by outcome
+     */
+    double[] getDefaultPayouts();
+
+    /**
+     * Settles the bet once the round is over
+     * @param firstCode Code of the player's first card
+     * @param secondCode Code of the player's second card (first card of the second hand after a split)
+     * @param dealerHand The dealer's final hand, its first card is the up card
+     * @return The outcome index
+     */
+    int evaluate(int firstCode, int secondCode, Hand dealerHand);
+
+    /**
+     * Whether the bet is settled on the dealer's played out hand. A live stake then has the dealer
+     * draw to a standing total even when every player hand busted or a blackjack ended the round
+     * @return true if evaluate needs the dealer's hand played out
+     */
+    default boolean needsDealerPlayedOut() {
+        return false;
+    }
+}
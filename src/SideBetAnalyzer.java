@@ -0,0 +1,224 @@
+import java.util.Arrays;
+
+// exact Perfect Pairs and 21+3 odds for the cards left in the shoe
+// every sum the odds need is kept up to date as cards are drawn, so an update is O(1)
+// and reading the odds only divides by the number of possible deals
+public final class SideBetAnalyzer implements ShoeObserver {
+    // rank ordinals of the 12 straights (TWO = 0 ... KING = 11, ACE = 12), ace plays low or high
+    private static final int[][] STRAIGHTS = new int[12][];
+    // for each rank, the straights it belongs to
+    private static final int[][] STRAIGHTS_BY_RANK = new int[Card.NUM_RANKS][];
+    static {
+        int ace = Card.Rank.ACE.ordinal();
+        STRAIGHTS[0] = new int[] {ace, 0, 1};
+        for (int low = 0; low + 2 < ace; low++) {
+            STRAIGHTS[low + 1] = new int[] {low, low + 1, low + 2};
+        }
+        STRAIGHTS[11] = new int[] {ace - 2, ace - 1, ace};
+
+        int[] found = new int[Card.NUM_RANKS];
+        int[][] byRank = new int[Card.NUM_RANKS][3];
+        for (int s = 0; s < STRAIGHTS.length; s++) {
+            for (int rank : STRAIGHTS[s]) {
+                byRank[rank][found[rank]++] = s;
+            }
+        }
+        for (int rank = 0; rank < Card.NUM_RANKS; rank++) {
+            STRAIGHTS_BY_RANK[rank] = Arrays.copyOf(byRank[rank], found[rank]);
+        }
+    }
+
+    private final int[] cardCounts = new int[Card.NUM_CARDS];
+    private final int[] rankCounts = new int[Card.NUM_RANKS];
+    private final int[] redRankCounts = new int[Card.NUM_RANKS];
+    private final int[] suitCounts = new int[Card.NUM_SUITS];
+    private int cardsRemaining;
+
+    // ordered two-card deals: same card, same rank and colour, same rank
+    private long perfectPairDeals;
+    private long colorPairDeals;
+    private long rankPairDeals;
+
+    // unordered three-card deals
+    private long suitedTripsDeals;
+    private long tripsDeals;
+    private long oneSuitDeals;
+    private long straightDeals;
+    private long straightFlushDeals;
+
+    public SideBetAnalyzer(int numDecks) {
+        onShoeReset(numDecks);
+    }
+
+    @Override
+    public void onShoeReset(int numDecks) {
+        Arrays.fill(cardCounts, numDecks);
+        Arrays.fill(rankCounts, numDecks * Card.NUM_SUITS);
+        Arrays.fill(redRankCounts, numDecks * 2);
+        Arrays.fill(suitCounts, numDecks * Card.NUM_RANKS);
+        cardsRemaining = numDecks * Card.NUM_CARDS;
+
+        // full recount, only on a reshuffle
+        perfectPairDeals = 0;
+        colorPairDeals = 0;
+        rankPairDeals = 0;
+        suitedTripsDeals = 0;
+        tripsDeals = 0;
+        oneSuitDeals = 0;
+        straightDeals = 0;
+        straightFlushDeals = 0;
+        for (int code = 0; code < Card.NUM_CARDS; code++) {
+            perfectPairDeals += pairs(cardCounts[code]);
+            suitedTripsDeals += triples(cardCounts[code]);
+        }
+        for (int rank = 0; rank < Card.NUM_RANKS; rank++) {
+            int red = redRankCounts[rank];
+            int black = rankCounts[rank] - red;
+            colorPairDeals += pairs(red) + pairs(black);
+            rankPairDeals += pairs(rankCounts[rank]);
+            tripsDeals += triples(rankCounts[rank]);
+        }
+        for (int suit = 0; suit < Card.NUM_SUITS; suit++) {
+            oneSuitDeals += triples(suitCounts[suit]);
+        }
+        for (int[] straight : STRAIGHTS) {
+            straightDeals += (long) rankCounts[straight[0]] * rankCounts[straight[1]] * rankCounts[straight[2]];
+            for (int suit = 0; suit < Card.NUM_SUITS; suit++) {
+                int base = suit * Card.NUM_RANKS;
+                straightFlushDeals += (long) cardCounts[base + straight[0]] * cardCounts[base + straight[1]]
+                        * cardCounts[base + straight[2]];
+            }
+        }
+    }
+
+    @Override
+    public void onCardDrawn(int code) {
+        // the deals the card is part of go, counted while it is still in the shoe
+        changeDeals(code, -1);
+        changeCounts(code, -1);
+    }
+
+    // the reverse of onCardDrawn: the card is back in the shoe, then its deals return
+    @Override
+    public void onCardReturned(int code) {
+        changeCounts(code, 1);
+        changeDeals(code, 1);
+    }
+
+    // adds (sign 1) or removes (sign -1) every deal that uses the card, with the card in the counts
+    private void changeDeals(int code, int sign) {
+        int rank = Card.rankOf(code);
+        int suit = Card.suitOf(code);
+        int base = suit * Card.NUM_RANKS;
+        boolean red = Card.of(code).getSuit().isRed();
+
+        // straights gain or lose every deal that used this card, i.e. the product of the other two counts
+        for (int s : STRAIGHTS_BY_RANK[rank]) {
+            int[] straight = STRAIGHTS[s];
+            long others = 1;
+            long suitedOthers = 1;
+            for (int r : straight) {
+                if (r != rank) {
+                    others *= rankCounts[r];
+                    suitedOthers *= cardCounts[base + r];
+                }
+            }
+            straightDeals += sign * others;
+            straightFlushDeals += sign * suitedOthers;
+        }
+
+        // x(x-1) changes by 2(x-1) and C(x,3) by C(x-1,2) between x and x-1
+        int sameCard = cardCounts[code];
+        perfectPairDeals += sign * 2L * (sameCard - 1);
+        suitedTripsDeals += sign * (pairs(sameCard - 1) / 2);
+
+        int sameRank = rankCounts[rank];
+        rankPairDeals += sign * 2L * (sameRank - 1);
+        tripsDeals += sign * (pairs(sameRank - 1) / 2);
+
+        int sameColor = red ? redRankCounts[rank] : sameRank - redRankCounts[rank];
+        colorPairDeals += sign * 2L * (sameColor - 1);
+
+        oneSuitDeals += sign * (pairs(suitCounts[suit] - 1) / 2);
+    }
+
+    private void changeCounts(int code, int change) {
+        int rank = Card.rankOf(code);
+        cardCounts[code] += change;
+        rankCounts[rank] += change;
+        if (Card.of(code).getSuit().isRed()) {
+            redRankCounts[rank] += change;
+        }
+        suitCounts[Card.suitOf(code)] += change;
+        cardsRemaining += change;
+    }
+
+    // chance of each Perfect Pairs outcome for the next two cards, indexed by outcome
+    public double[] getPairProbabilities() {
+        double[] probabilities = new double[DetermineSideBetPayout.PERFECT_PAIR + 1];
+        double deals = pairs(cardsRemaining);
+        if (deals <= 0) {
+            return probabilities;
+        }
+        probabilities[DetermineSideBetPayout.PERFECT_PAIR] = perfectPairDeals / deals;
+        probabilities[DetermineSideBetPayout.SAME_COLOR_PAIR] = (colorPairDeals - perfectPairDeals) / deals;
+        probabilities[DetermineSideBetPayout.MIXED_PAIR] = (rankPairDeals - colorPairDeals) / deals;
+        probabilities[DetermineSideBetPayout.NO_PAIR] = 1 - rankPairDeals / deals;
+        return probabilities;
+    }
+
+    // chance of each 21+3 outcome for the player's two cards and the dealer's up card, indexed by outcome
+    public double[] getTwentyOnePlusThreeProbabilities() {
+        double[] probabilities = new double[DetermineSideBetPayout.SUITED_TRIPS + 1];
+        double deals = triples(cardsRemaining);
+        if (deals <= 0) {
+            return probabilities;
+        }
+        long flushes = oneSuitDeals - straightFlushDeals - suitedTripsDeals;
+        long straights = straightDeals - straightFlushDeals;
+        long trips = tripsDeals - suitedTripsDeals;
+        probabilities[DetermineSideBetPayout.SUITED_TRIPS] = suitedTripsDeals / deals;
+        probabilities[DetermineSideBetPayout.STRAIGHT_FLUSH] = straightFlushDeals / deals;
+        probabilities[DetermineSideBetPayout.THREE_OF_A_KIND] = trips / deals;
+        probabilities[DetermineSideBetPayout.STRAIGHT] = straights / deals;
+        probabilities[DetermineSideBetPayout.FLUSH] = flushes / deals;
+        probabilities[DetermineSideBetPayout.NO_HAND] =
+                1 - (suitedTripsDeals + straightFlushDeals + trips + straights + flushes) / deals;
+        return probabilities;
+    }
+
+    // expected net win per unit staked on Perfect Pairs, the stake is taken when placed
+    // and a win pays back the multiplier times the stake, as in Game.payoutBets
+    public double getPairExpectation() {
+        double[] probabilities = getPairProbabilities();
+        double expectation = -1;
+        for (int outcome = 0; outcome < probabilities.length; outcome++) {
+            expectation += probabilities[outcome] * DetermineSideBetPayout.getPairMultiplier(outcome);
+        }
+        return expectation;
+    }
+
+    // expected net win per unit staked on 21+3
+    public double getTwentyOnePlusThreeExpectation() {
+        double[] probabilities = getTwentyOnePlusThreeProbabilities();
+        double expectation = -1;
+        for (int outcome = 0; outcome < probabilities.length; outcome++) {
+            expectation += probabilities[outcome] * DetermineSideBetPayout.getTwentyOnePlusThreeMultiplier(outcome);
+        }
+        return expectation;
+    }
+
+    public int getCardsRemaining() {
+        return cardsRemaining;
+    }
+
+    // ordered ways to deal two cards out of n
+    private static long pairs(long n) {
+        return n > 1 ? n * (n - 1) : 0;
+    }
+
+    // unordered ways to deal three cards out of n
+    private static long triples(long n) {
+        return n > 2 ? n * (n - 1) * (n - 2) / 6 : 0;
+    }
+}
@@ -0,0 +1,106 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+// the side bets a table offers with their paytables compiled into arrays indexed by outcome
+// config format (properties):
+//   sideBets=PERFECT_PAIRS,TWENTY_ONE_PLUS_THREE,LUCKY_LADIES
+//   PERFECT_PAIRS.PERFECT_PAIR=25
+// outcomes left out keep the bet's default payout
+public class SideBetTable {
+    public static final String SIDE_BETS_KEY = "sideBets";
+
+    private final SideBet[] sideBets;
+    private final double[][] payouts; // [side bet index][outcome]
+
+    public SideBetTable(List<? extends SideBet> sideBets, Properties paytables) {
+        this.sideBets = sideBets.toArray(new SideBet[0]);
+        this.payouts = new double[this.sideBets.length][];
+        for (int i = 0; i < this.sideBets.length; i++) {
+            payouts[i] = compile(this.sideBets[i], paytables);
+        }
+    }
+
+    // Perfect Pairs and 21+3 at their default payouts, what the GUI offers
+    public static SideBetTable standard() {
+        return new SideBetTable(List.of(StandardSideBet.PERFECT_PAIRS, StandardSideBet.TWENTY_ONE_PLUS_THREE),
+                new Properties());
+    }
+
+    public static SideBetTable load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return fromProperties(properties);
+    }
+
+    public static SideBetTable fromProperties(Properties properties) {
+        String names = properties.getProperty(SIDE_BETS_KEY);
+        if (names == null || names.isBlank()) {
+            throw new IllegalArgumentException("Paytable config has no " + SIDE_BETS_KEY + " entry");
+        }
+        List<SideBet> sideBets = new ArrayList<>();
+        for (String name : names.split(",")) {
+            try {
+                sideBets.add(StandardSideBet.valueOf(name.trim()));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown side bet: " + name.trim());
+            }
+        }
+        return new SideBetTable(sideBets, properties);
+    }
+
+    private static double[] compile(SideBet sideBet, Properties paytables) {
+        String[] outcomes = sideBet.getOutcomes();
+        double[] compiled = sideBet.getDefaultPayouts();
+        if (compiled.length != outcomes.length) {
+            throw new IllegalArgumentException(sideBet.getName() + " has " + outcomes.length
+                    + " outcomes but " + compiled.length + " default payouts");
+        }
+        for (int outcome = 1; outcome < outcomes.length; outcome++) {
+            String value = paytables.getProperty(sideBet.getName() + "." + outcomes[outcome]);
+            if (value != null) {
+                try {
+                    compiled[outcome] = Double.parseDouble(value.trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("Invalid payout for " + sideBet.getName() + "."
+                            + outcomes[outcome] + ": " + value);
+                }
+            }
+        }
+        compiled[0] = 0; // losing outcome never pays
+        return compiled;
+    }
+
+    public int size() {
+        return sideBets.length;
+    }
+
+    public SideBet getSideBet(int index) {
+        return sideBets[index];
+    }
+
+    // position of the bet in this table, or -1 if the table does not offer it
+    public int indexOf(SideBet sideBet) {
+        for (int i = 0; i < sideBets.length; i++) {
+            if (sideBets[i] == sideBet) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public double getPayout(int index, int outcome) {
+        return payouts[index][outcome];
+    }
+
+    // copy of one bet's compiled paytable
+    public double[] getPayouts(int index) {
+        return payouts[index].clone();
+    }
+}
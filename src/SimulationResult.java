@@ -0,0 +1,82 @@
+public class SimulationResult {
+    private long rounds;
+    private double totalBet;
+    private double netResult;
+    private double sumOfSquares;
+    private long elapsedNanos;
+
+    public SimulationResult() {
+    }
+
+    // totals saved from an earlier run, e.g. a cached sweep cell
+    public SimulationResult(long rounds, double totalBet, double netResult, double sumOfSquares) {
+        this.rounds = rounds;
+        this.totalBet = totalBet;
+        this.netResult = netResult;
+        this.sumOfSquares = sumOfSquares;
+    }
+
+    public void recordRound(double betAmount, double net) {
+        rounds++;
+        totalBet += betAmount;
+        netResult += net;
+        sumOfSquares += net * net;
+    }
+
+    // combines another worker's results into this one
+    public SimulationResult merge(SimulationResult other) {
+        rounds += other.rounds;
+        totalBet += other.totalBet;
+        netResult += other.netResult;
+        sumOfSquares += other.sumOfSquares;
+        return this;
+    }
+
+    public long getRounds() {
+        return rounds;
+    }
+
+    public double getTotalBet() {
+        return totalBet;
+    }
+
+    public double getNetResult() {
+        return netResult;
+    }
+
+    public double getSumOfSquares() {
+        return sumOfSquares;
+    }
+
+    // player's expected return per unit of initial bet, negative means house edge
+    public double getExpectedReturn() {
+        return totalBet > 0 ? netResult / totalBet : 0;
+    }
+
+    public double getStandardDeviationPerRound() {
+        if (rounds < 2) {
+            return 0;
+        }
+        double mean = netResult / rounds;
+        return Math.sqrt(Math.max(0, sumOfSquares / rounds - mean * mean));
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getRoundsPerSecond() {
+        return elapsedNanos > 0 ? rounds / (elapsedNanos / 1e9) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("rounds=%d expectedReturn=%.5f stdDev=%.4f elapsed=%.2fs rounds/sec=%.0f",
+                rounds, getExpectedReturn(), getStandardDeviationPerRound(),
+                elapsedNanos / 1e9, getRoundsPerSecond());
+    }
+}
@@ -0,0 +1,235 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.random.RandomGenerator;
+
+public class SimulationRunner {
+    // smallest slice of rounds worth handing to a worker
+    private static final long MIN_ROUNDS_PER_TASK = 10_000;
+    // odd constant SplittableRandom uses to space out the seeds of split generators
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    // a bankroll the simulated player can never run through, shared by every batch runner
+    static final double SIMULATION_BANKROLL = 1e12;
+
+    private final ForkJoinPool pool;
+    private final int numDecks;
+    private final double betAmount;
+    private final Function<Game, PlayerStrategy> strategyFactory;
+    private TableRules rules = TableRules.STANDARD;
+    private ReshufflePolicy reshufflePolicy;
+    private int shufflerBufferSize = -1; // dealing from a ContinuousShuffler when 0 or more
+    private int shufflerRoundsPerShoe;
+    private double pairBet;
+    private double twentyOnePlusThreeBet;
+    private boolean sideBetsOnlyWhenPositive;
+    private SideBetTable sideBetTable;
+    private double[] sideBetStakes;
+
+    public SimulationRunner(int numDecks, double betAmount, Supplier<PlayerStrategy> strategySupplier) {
+        this(new ForkJoinPool(Runtime.getRuntime().availableProcessors()), numDecks, betAmount, strategySupplier);
+    }
+
+    public SimulationRunner(ForkJoinPool pool, int numDecks, double betAmount,
+            Supplier<PlayerStrategy> strategySupplier) {
+        this(pool, numDecks, betAmount, game -> strategySupplier.get());
+    }
+
+    // for strategies that read the worker's game, e.g. a CompositionStrategy
+    public SimulationRunner(ForkJoinPool pool, int numDecks, double betAmount,
+            Function<Game, PlayerStrategy> strategyFactory) {
+        this.pool = pool;
+        this.numDecks = numDecks;
+        this.betAmount = betAmount;
+        this.strategyFactory = strategyFactory;
+    }
+
+    // house rules every worker's game is played under
+    public void setRules(TableRules rules) {
+        this.rules = rules;
+    }
+
+    // where every worker's shoes are cut, the game's default when not set
+    // with runShoes a shoe lasts until the policy's first reshuffle
+    public void setReshufflePolicy(ReshufflePolicy reshufflePolicy) {
+        this.reshufflePolicy = reshufflePolicy;
+    }
+
+    // deals every worker's rounds from a continuous shuffling machine, which never runs down
+    // with runShoes each seeded shoe is a freshly loaded machine played for roundsPerShoe rounds
+    public void setContinuousShuffler(int bufferSize, int roundsPerShoe) {
+        if (bufferSize < 0 || roundsPerShoe < 1) {
+            throw new IllegalArgumentException("Buffer size must be 0 or more and rounds per shoe at least 1");
+        }
+        this.shufflerBufferSize = bufferSize;
+        this.shufflerRoundsPerShoe = roundsPerShoe;
+    }
+
+    // side bets placed every round, both 0 lets the workers use rank-only shoes
+    public void setSideBets(double pairBet, double twentyOnePlusThreeBet) {
+        this.pairBet = pairBet;
+        this.twentyOnePlusThreeBet = twentyOnePlusThreeBet;
+    }
+
+    // any side bets from the given table, stakes indexed like the table and placed every round
+    public void setSideBets(SideBetTable sideBetTable, double[] stakes) {
+        this.sideBetTable = sideBetTable;
+        this.sideBetStakes = stakes.clone();
+    }
+
+    // places each side bet only on rounds where the remaining shoe gives it a positive expectation
+    // (Perfect Pairs and 21+3 set through setSideBets(double, double) only)
+    public void setSideBetsOnlyWhenPositive(boolean onlyWhenPositive) {
+        this.sideBetsOnlyWhenPositive = onlyWhenPositive;
+    }
+
+    public SimulationResult run(long rounds) {
+        // several slices per core so idle workers can steal from busy ones
+        long slice = Math.max(MIN_ROUNDS_PER_TASK, rounds / (pool.getParallelism() * 8L));
+
+        long start = System.nanoTime();
+        SimulationResult result = pool.invoke(new SimulationTask(rounds, slice));
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    // plays the given number of shoes, each dealt until the cut card from its own seed
+    // the results are bit-identical for any pool size because shoe i is always shuffled by
+    // the generator for (masterSeed, i) and partial results are merged in shoe order
+    public SimulationResult runShoes(long masterSeed, long shoes, RandomAlgorithm algorithm) {
+        long start = System.nanoTime();
+        SimulationResult result = pool.invoke(new ShoeRangeTask<>(
+                (firstShoe, lastShoe) -> playShoes(masterSeed, algorithm, firstShoe, lastShoe),
+                SimulationResult::merge, 0, shoes));
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    // seed of one shoe, derived from the master seed the same way SplittableRandom seeds a split
+    public static long shoeSeed(long masterSeed, long shoeIndex) {
+        long z = masterSeed + (shoeIndex + 1) * GOLDEN_GAMMA;
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private SimulationResult playShoes(long masterSeed, RandomAlgorithm algorithm, long firstShoe, long lastShoe) {
+        Worker worker = new Worker(algorithm.create(masterSeed));
+        SimulationResult result = new SimulationResult();
+        for (long shoe = firstShoe; shoe < lastShoe; shoe++) {
+            worker.game.startNewShoe(algorithm.create(shoeSeed(masterSeed, shoe)));
+            for (int round = 0; !isShoeFinished(worker.game, round); round++) {
+                result.recordRound(betAmount, worker.playRound());
+            }
+        }
+        return result;
+    }
+
+    private boolean isShoeFinished(Game game, int roundsPlayed) {
+        return shufflerBufferSize >= 0 ? roundsPlayed >= shufflerRoundsPerShoe : game.isReshuffleDue();
+    }
+
+    // plays rounds on a game owned by this worker alone (own Deck, Player and Dealer)
+    private SimulationResult playRounds(long rounds) {
+        Worker worker = new Worker(RandomAlgorithm.L64X128_MIX.create());
+        SimulationResult result = new SimulationResult();
+        for (long i = 0; i < rounds; i++) {
+            result.recordRound(betAmount, worker.playRound());
+        }
+        return result;
+    }
+
+    // everything one worker thread plays with, never shared between threads
+    private class Worker {
+        private final Game game;
+        private final RoundEngine engine;
+        private final SideBetAnalyzer analyzer;
+
+        Worker(RandomGenerator random) {
+            game = new Game(numDecks, SIMULATION_BANKROLL, betAmount, random, rules);
+            engine = new RoundEngine(game, strategyFactory.apply(game));
+            if (shufflerBufferSize >= 0) {
+                game.setShoe(new ContinuousShuffler(numDecks, shufflerBufferSize, random));
+            }
+            if (reshufflePolicy != null) {
+                game.setReshufflePolicy(reshufflePolicy);
+            }
+            if (sideBetTable != null) {
+                game.setSideBetTable(sideBetTable);
+                game.onSideBetsPlaced(sideBetStakes, true);
+            } else if (pairBet > 0 || twentyOnePlusThreeBet > 0) {
+                // remembered so they are placed again every round
+                game.onSideBetsPlaced(pairBet, twentyOnePlusThreeBet, 0, true);
+            }
+            // suits only matter to the side bets, without them the shoe can track ranks alone
+            if (!game.areSideBetsPlaced()) {
+                game.getDeck().setRankOnly(true);
+                analyzer = null;
+            } else if (sideBetsOnlyWhenPositive && sideBetTable == null) {
+                analyzer = new SideBetAnalyzer(numDecks);
+                game.addShoeObserver(analyzer);
+            } else {
+                analyzer = null;
+            }
+        }
+
+        double playRound() {
+            if (analyzer != null) {
+                // a due reshuffle first, so the decision reads the shoe the round is dealt from
+                game.prepareRound();
+                double pair = analyzer.getPairExpectation() > 0 ? pairBet : 0;
+                double twentyOnePlusThree = analyzer.getTwentyOnePlusThreeExpectation() > 0 ? twentyOnePlusThreeBet : 0;
+                game.onSideBetsPlaced(pair, twentyOnePlusThree, 0, true);
+            }
+            return engine.playRound(betAmount);
+        }
+    }
+
+    @SuppressWarnings("serial") // never serialized, RecursiveTask just happens to be Serializable
+    private class SimulationTask extends RecursiveTask<SimulationResult> {
+        private final long rounds;
+        private final long slice;
+
+        SimulationTask(long rounds, long slice) {
+            this.rounds = rounds;
+            this.slice = slice;
+        }
+
+        @Override
+        protected SimulationResult compute() {
+            if (rounds <= slice) {
+                return playRounds(rounds);
+            }
+            long half = rounds / 2;
+            SimulationTask left = new SimulationTask(half, slice);
+            SimulationTask right = new SimulationTask(rounds - half, slice);
+            left.fork();
+            SimulationResult rightResult = right.compute();
+            return left.join().merge(rightResult);
+        }
+    }
+
+    // usage: SimulationRunner [rounds] [numDecks] [betAmount]
+    //        SimulationRunner [shoes] [numDecks] [betAmount] [seed] [rules.properties]  (reproducible)
+    public static void main(String[] args) throws IOException {
+        long count = args.length > 0 ? Long.parseLong(args[0]) : 10_000_000L;
+        int numDecks = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        double betAmount = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+        TableRules rules = args.length > 4 ? TableRules.load(Path.of(args[4])) : TableRules.STANDARD;
+
+        PlayerStrategy strategy = BasicStrategy.forRules(rules);
+        SimulationRunner runner = new SimulationRunner(numDecks, betAmount, () -> strategy);
+        runner.setRules(rules);
+        if (args.length > 3) {
+            long seed = Long.parseLong(args[3]);
+            System.out.println("Running " + count + " shoes from seed " + seed + " (" + rules + ") on "
+                    + runner.pool.getParallelism() + " workers...");
+            System.out.println(runner.runShoes(seed, count, RandomAlgorithm.L64X128_MIX));
+        } else {
+            System.out.println("Running " + count + " rounds on " + runner.pool.getParallelism() + " workers...");
+            System.out.println(runner.run(count));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+// side bets the table can offer out of the box
+public enum StandardSideBet implements SideBet {
+
+    PERFECT_PAIRS(new String[] {"NO_PAIR", "MIXED_PAIR", "SAME_COLOR_PAIR", "PERFECT_PAIR"},
+            new double[] {0, 5, 10, 30}) {
+        @Override
+        public int evaluate(int firstCode, int secondCode, Hand dealerHand) {
+            return DetermineSideBetPayout.pairOutcome(firstCode, secondCode);
+        }
+    },
+
+    TWENTY_ONE_PLUS_THREE(new String[] {"NO_HAND", "FLUSH", "STRAIGHT", "THREE_OF_A_KIND", "STRAIGHT_FLUSH", "SUITED_TRIPS"},
+            new double[] {0, 5, 10, 30, 40, 100}) {
+        @Override
+        public int evaluate(int firstCode, int secondCode, Hand dealerHand) {
+            return DetermineSideBetPayout.twentyOnePlusThreeOutcome(firstCode, secondCode,
+                    dealerHand.cardAt(0).code());
+        }
+    },
+
+    // player's first two cards total 20
+    LUCKY_LADIES(new String[] {"LOSE", "ANY_20", "SUITED_20", "MATCHED_20", "QUEEN_OF_HEARTS_PAIR",
+            "QUEEN_OF_HEARTS_PAIR_DEALER_BLACKJACK"},
+            new double[] {0, 4, 10, 25, 200, 1000}) {
+        private final int queenOfHearts = Card.of(Card.Suit.HEARTS, Card.Rank.QUEEN).code();
+
+        @Override
+        public int evaluate(int firstCode, int secondCode, Hand dealerHand) {
+            if (Card.of(firstCode).getValue() + Card.of(secondCode).getValue() != 20) {
+                return LADIES_LOSE;
+            }
+            if (firstCode == queenOfHearts && secondCode == queenOfHearts) {
+                return dealerHand.isBlackjack() ? LADIES_QUEEN_OF_HEARTS_PAIR_DEALER_BLACKJACK
+                        : LADIES_QUEEN_OF_HEARTS_PAIR;
+            }
+            if (firstCode == secondCode) {
+                return LADIES_MATCHED_20;
+            }
+            return Card.suitOf(firstCode) == Card.suitOf(secondCode) ? LADIES_SUITED_20 : LADIES_ANY_20;
+        }
+    },
+
+    // dealer busts, paid by how many cards the dealer needed to bust
+    BUSTER_BLACKJACK(new String[] {"LOSE", "BUST_3_OR_4_CARDS", "BUST_5_CARDS", "BUST_6_CARDS", "BUST_7_CARDS",
+            "BUST_8_OR_MORE_CARDS"},
+            new double[] {0, 2, 4, 15, 50, 250}) {
+        // the dealer draws out for this bet even when no player hand is left standing
+        @Override
+        public boolean needsDealerPlayedOut() {
+            return true;
+        }
+
+        @Override
+        public int evaluate(int firstCode, int secondCode, Hand dealerHand) {
+            if (!dealerHand.isBust()) {
+                return BUSTER_LOSE;
+            }
+            switch (dealerHand.cardCount()) {
+                case 3:
+                case 4:
+                    return BUSTER_3_OR_4_CARDS;
+                case 5:
+                    return BUSTER_5_CARDS;
+                case 6:
+                    return BUSTER_6_CARDS;
+                case 7:
+                    return BUSTER_7_CARDS;
+                default:
+                    return BUSTER_8_OR_MORE_CARDS;
+            }
+        }
+    },
+
+    // player's first two cards are suited, king and queen of a suit is a royal match
+    ROYAL_MATCH(new String[] {"LOSE", "SUITED", "ROYAL_MATCH"},
+            new double[] {0, 2.5, 25}) {
+        private final int king = Card.Rank.KING.ordinal();
+        private final int queen = Card.Rank.QUEEN.ordinal();
+
+        @Override
+        public int evaluate(int firstCode, int secondCode, Hand dealerHand) {
+            if (Card.suitOf(firstCode) != Card.suitOf(secondCode)) {
+                return ROYAL_LOSE;
+            }
+            int first = Card.rankOf(firstCode);
+            int second = Card.rankOf(secondCode);
+            boolean royal = (first == king && second == queen) || (first == queen && second == king);
+            return royal ? ROYAL_KING_QUEEN : ROYAL_SUITED;
+        }
+    };
+
+    // Lucky Ladies outcomes, in the order of its outcome names
+    public static final int LADIES_LOSE = 0;
+    public static final int LADIES_ANY_20 = 1;
+    public static final int LADIES_SUITED_20 = 2;
+    public static final int LADIES_MATCHED_20 = 3;
+    public static final int LADIES_QUEEN_OF_HEARTS_PAIR = 4;
+    public static final int LADIES_QUEEN_OF_HEARTS_PAIR_DEALER_BLACKJACK = 5;
+
+    // Buster Blackjack outcomes, in the order of its outcome names
+    public static final int BUSTER_LOSE = 0;
+    public static final int BUSTER_3_OR_4_CARDS = 1;
+    public static final int BUSTER_5_CARDS = 2;
+    public static final int BUSTER_6_CARDS = 3;
+    public static final int BUSTER_7_CARDS = 4;
+    public static final int BUSTER_8_OR_MORE_CARDS = 5;
+
+    // Royal Match outcomes, in the order of its outcome names
+    public static final int ROYAL_LOSE = 0;
+    public static final int ROYAL_SUITED = 1;
+    public static final int ROYAL_KING_QUEEN = 2;
+
+    private final String[] outcomes;
+    private final double[] defaultPayouts;
+
+    StandardSideBet(String[] outcomes, double[] defaultPayouts) {
+        this.outcomes = outcomes;
+        this.defaultPayouts = defaultPayouts;
+    }
+
+    @Override
+    public String getName() {
+        return name();
+    }
+
+    @Override
+    public String[] getOutcomes() {
+        return outcomes.clone();
+    }
+
+    @Override
+    public double[] getDefaultPayouts() {
+        return defaultPayouts.clone();
+    }
+}
@@ -0,0 +1,138 @@
+// one point of a parameter sweep: everything a simulation run depends on, immutable
+// the bet spread ramps from one unit at a count of 1 or less up to betSpread units, one unit per
+// point of true count (running count for unbalanced systems, whose initial count already centres it)
+public final class SweepCell {
+    private final int numDecks;
+    private final double penetration;
+    private final TableRules rules;
+    private final int betSpread;
+    private final CountingSystem countingSystem;
+    private final double minimumBet;
+    private final long shoes;
+    private final long seed;
+    // derived from the inputs above, but kept so the run plays exactly what describe() spells out
+    private final ReshufflePolicy reshufflePolicy;
+    private final BasicStrategy strategy;
+
+    public SweepCell(int numDecks, double penetration, TableRules rules, int betSpread,
+            CountingSystem countingSystem, double minimumBet, long shoes, long seed) {
+        if (numDecks < 1) {
+            throw new IllegalArgumentException("Need at least one deck: " + numDecks);
+        }
+        if (!(penetration > 0 && penetration < 1)) {
+            throw new IllegalArgumentException("Penetration must be between 0 and 1: " + penetration);
+        }
+        if (betSpread < 1) {
+            throw new IllegalArgumentException("Bet spread must be at least 1: " + betSpread);
+        }
+        if (minimumBet <= 0 || shoes < 1) {
+            throw new IllegalArgumentException("Minimum bet and shoes must be positive");
+        }
+        this.numDecks = numDecks;
+        this.penetration = penetration;
+        this.rules = rules;
+        this.betSpread = betSpread;
+        this.countingSystem = countingSystem;
+        this.minimumBet = minimumBet;
+        this.shoes = shoes;
+        this.seed = seed;
+        this.reshufflePolicy = ReshufflePolicy.cutCard(penetration);
+        this.strategy = BasicStrategy.forRules(rules);
+    }
+
+    // bet for the next round, from the count of the system at index 0 of the tracker
+    public double betFor(CountTracker tracker) {
+        if (betSpread == 1) {
+            return minimumBet;
+        }
+        double count = tracker.getBettingCount(0);
+        if (countingSystem.isBalanced()) {
+            double decksRemaining = tracker.getDecksRemaining();
+            count = decksRemaining > 0 ? count / decksRemaining : 0;
+        }
+        int units = (int) Math.max(1, Math.min(betSpread, Math.floor(count)));
+        return minimumBet * units;
+    }
+
+    // every input of the run spelled out, the same string for the same configuration on any machine
+    // the strategy goes in as its compiled chart, so a change to a built-in chart misses the cache too
+    public String describe() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("decks=").append(numDecks);
+        sb.append(" penetration=").append(penetration);
+        sb.append(" policy=").append(reshufflePolicy);
+        sb.append(" rules=").append(rules.isDealerHitsSoft17()).append(',').append(rules.getBlackjackPayout())
+                .append(',').append(rules.isLateSurrender()).append(',').append(rules.getMaxSplitHands())
+                .append(',').append(rules.isDoubleAfterSplit()).append(',').append(rules.isDealerPeeks());
+        sb.append(" strategy=").append(strategy.fingerprint());
+        sb.append(" spread=").append(betSpread);
+        sb.append(" system=").append(countingSystem.getName()).append('[');
+        for (int rank = 0; rank < Card.NUM_RANKS; rank++) {
+            sb.append(countingSystem.getTag(rank)).append(',');
+        }
+        sb.append(countingSystem.getScale()).append(',').append(countingSystem.getInitialRunningCount(numDecks))
+                .append(',').append(countingSystem.getAceSideCountWeight()).append(']');
+        sb.append(" minimumBet=").append(minimumBet);
+        sb.append(" shoes=").append(shoes);
+        sb.append(" seed=").append(seed);
+        return sb.toString();
+    }
+
+    public int getNumDecks() {
+        return numDecks;
+    }
+
+    public double getPenetration() {
+        return penetration;
+    }
+
+    public TableRules getRules() {
+        return rules;
+    }
+
+    public ReshufflePolicy getReshufflePolicy() {
+        return reshufflePolicy;
+    }
+
+    // stateless, one instance serves every worker playing the cell
+    public BasicStrategy getStrategy() {
+        return strategy;
+    }
+
+    public int getBetSpread() {
+        return betSpread;
+    }
+
+    public CountingSystem getCountingSystem() {
+        return countingSystem;
+    }
+
+    public double getMinimumBet() {
+        return minimumBet;
+    }
+
+    public long getShoes() {
+        return shoes;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof SweepCell && describe().equals(((SweepCell) o).describe());
+    }
+
+    @Override
+    public int hashCode() {
+        return describe().hashCode();
+    }
+
+    // e.g. "6 decks 75% S17 3:2 DAS peek 1-8 Hi-Lo"
+    @Override
+    public String toString() {
+        return numDecks + (numDecks == 1 ? " deck " : " decks ") + Math.round(penetration * 100) + "% " + rules
+                + " 1-" + betSpread + " " + countingSystem.getName();
+    }
+}
@@ -0,0 +1,145 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+// a grid of simulation parameters, expanded into one SweepCell per combination
+// spec format (properties), comma separated lists, every key optional:
+//   decks=1,2,6,8
+//   penetration=0.65,0.75,0.85
+//   rules=standard,h17.properties      (TableRules files, relative to the spec file)
+//   spreads=1,8,12
+//   systems=Hi-Lo,KO,Omega II
+//   minimumBet=10
+//   shoes=100000                       (per cell)
+//   seed=1                             (every cell deals the same shoes for the same deck count)
+public final class SweepSpec {
+    private final List<Integer> deckCounts;
+    private final List<Double> penetrations;
+    private final List<TableRules> rules;
+    private final List<Integer> betSpreads;
+    private final List<CountingSystem> countingSystems;
+    private final double minimumBet;
+    private final long shoesPerCell;
+    private final long seed;
+
+    public SweepSpec(List<Integer> deckCounts, List<Double> penetrations, List<TableRules> rules,
+            List<Integer> betSpreads, List<CountingSystem> countingSystems, double minimumBet, long shoesPerCell,
+            long seed) {
+        if (deckCounts.isEmpty() || penetrations.isEmpty() || rules.isEmpty() || betSpreads.isEmpty()
+                || countingSystems.isEmpty()) {
+            throw new IllegalArgumentException("Every sweep dimension needs at least one value");
+        }
+        this.deckCounts = List.copyOf(deckCounts);
+        this.penetrations = List.copyOf(penetrations);
+        this.rules = List.copyOf(rules);
+        this.betSpreads = List.copyOf(betSpreads);
+        this.countingSystems = List.copyOf(countingSystems);
+        this.minimumBet = minimumBet;
+        this.shoesPerCell = shoesPerCell;
+        this.seed = seed;
+    }
+
+    public static SweepSpec load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        Path directory = file.toAbsolutePath().getParent();
+
+        List<TableRules> rules = new ArrayList<>();
+        for (String name : list(properties, "rules", "standard")) {
+            rules.add(name.equalsIgnoreCase("standard") ? TableRules.STANDARD : TableRules.load(directory.resolve(name)));
+        }
+        List<CountingSystem> systems = new ArrayList<>();
+        for (String name : list(properties, "systems", "Hi-Lo")) {
+            systems.add(CountingSystem.forName(name));
+        }
+        try {
+            List<Integer> decks = new ArrayList<>();
+            for (String value : list(properties, "decks", "6")) {
+                decks.add(Integer.parseInt(value));
+            }
+            List<Double> penetrations = new ArrayList<>();
+            for (String value : list(properties, "penetration", "0.75")) {
+                penetrations.add(Double.parseDouble(value));
+            }
+            List<Integer> spreads = new ArrayList<>();
+            for (String value : list(properties, "spreads", "1")) {
+                spreads.add(Integer.parseInt(value));
+            }
+            return new SweepSpec(decks, penetrations, rules, spreads, systems,
+                    Double.parseDouble(properties.getProperty("minimumBet", "10").trim()),
+                    Long.parseLong(properties.getProperty("shoes", "10000").trim()),
+                    Long.parseLong(properties.getProperty("seed", "1").trim()));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in sweep spec: " + e.getMessage());
+        }
+    }
+
+    private static List<String> list(Properties properties, String key, String defaultValue) {
+        List<String> values = new ArrayList<>();
+        for (String value : properties.getProperty(key, defaultValue).split(",")) {
+            if (!value.isBlank()) {
+                values.add(value.trim());
+            }
+        }
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("No values for " + key);
+        }
+        return values;
+    }
+
+    // every combination, decks varying slowest and counting system fastest
+    public List<SweepCell> cells() {
+        List<SweepCell> cells = new ArrayList<>();
+        for (int numDecks : deckCounts) {
+            for (double penetration : penetrations) {
+                for (TableRules tableRules : rules) {
+                    for (int betSpread : betSpreads) {
+                        for (CountingSystem system : countingSystems) {
+                            cells.add(new SweepCell(numDecks, penetration, tableRules, betSpread, system, minimumBet,
+                                    shoesPerCell, seed));
+                        }
+                    }
+                }
+            }
+        }
+        return cells;
+    }
+
+    public List<Integer> getDeckCounts() {
+        return deckCounts;
+    }
+
+    public List<Double> getPenetrations() {
+        return penetrations;
+    }
+
+    public List<TableRules> getRules() {
+        return rules;
+    }
+
+    public List<Integer> getBetSpreads() {
+        return betSpreads;
+    }
+
+    public List<CountingSystem> getCountingSystems() {
+        return countingSystems;
+    }
+
+    public double getMinimumBet() {
+        return minimumBet;
+    }
+
+    public long getShoesPerCell() {
+        return shoesPerCell;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+}
@@ -0,0 +1,194 @@
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+// the house rules a game is played under, immutable
+// everything the engine asks per card or per bet is compiled up front into lookup tables,
+// so a game never branches on the rule flags themselves
+// config format (properties), every key optional:
+//   dealerHitsSoft17=true
+//   blackjackPayout=1.2
+//   lateSurrender=true
+//   maxSplitHands=4
+//   doubleAfterSplit=false
+//   dealerPeeks=false          (European no hole card)
+public final class TableRules {
+    // stands on all 17s, 3:2, no surrender, unlimited splits, double after split, dealer peeks
+    public static final TableRules STANDARD = new TableRules(false, 1.5, false, Integer.MAX_VALUE, true, true);
+
+    private static final int TOTALS = 32;
+
+    private final boolean dealerHitsSoft17;
+    private final double blackjackPayout;
+    private final boolean lateSurrender;
+    private final int maxSplitHands;
+    private final boolean doubleAfterSplit;
+    private final boolean dealerPeeks;
+
+    // compiled: whether the dealer draws, indexed by (soft ? TOTALS : 0) + total
+    private final boolean[] dealerHits = new boolean[2 * TOTALS];
+    // compiled: money returned per unit bet, indexed by Bet.BetResult ordinal
+    private final double[] payoutMultipliers = new double[Bet.BetResult.values().length];
+
+    public TableRules(boolean dealerHitsSoft17, double blackjackPayout, boolean lateSurrender, int maxSplitHands,
+            boolean doubleAfterSplit, boolean dealerPeeks) {
+        if (blackjackPayout < 1) {
+            throw new IllegalArgumentException("Blackjack must pay at least even money: " + blackjackPayout);
+        }
+        if (maxSplitHands < 1) {
+            throw new IllegalArgumentException("Max split hands must be at least 1: " + maxSplitHands);
+        }
+        this.dealerHitsSoft17 = dealerHitsSoft17;
+        this.blackjackPayout = blackjackPayout;
+        this.lateSurrender = lateSurrender;
+        this.maxSplitHands = maxSplitHands;
+        this.doubleAfterSplit = doubleAfterSplit;
+        this.dealerPeeks = dealerPeeks;
+
+        for (int total = 0; total < TOTALS; total++) {
+            dealerHits[total] = total < 17;
+            dealerHits[TOTALS + total] = total < 17 || dealerHitsSoft17 && total == 17;
+        }
+        payoutMultipliers[Bet.BetResult.WIN.ordinal()] = 2;
+        payoutMultipliers[Bet.BetResult.PUSH.ordinal()] = 1;
+        payoutMultipliers[Bet.BetResult.BLACKJACK.ordinal()] = 1 + blackjackPayout;
+        payoutMultipliers[Bet.BetResult.SURRENDER.ordinal()] = 0.5;
+    }
+
+    public static TableRules load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file)) {
+            properties.load(reader);
+        }
+        return fromProperties(properties);
+    }
+
+    // keys left out keep the STANDARD value
+    public static TableRules fromProperties(Properties properties) {
+        TableRules rules = STANDARD;
+        try {
+            return new TableRules(
+                    bool(properties, "dealerHitsSoft17", rules.dealerHitsSoft17),
+                    Double.parseDouble(properties.getProperty("blackjackPayout", String.valueOf(rules.blackjackPayout))),
+                    bool(properties, "lateSurrender", rules.lateSurrender),
+                    Integer.parseInt(properties.getProperty("maxSplitHands", String.valueOf(rules.maxSplitHands))),
+                    bool(properties, "doubleAfterSplit", rules.doubleAfterSplit),
+                    bool(properties, "dealerPeeks", rules.dealerPeeks));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number in table rules: " + e.getMessage());
+        }
+    }
+
+    private static boolean bool(Properties properties, String key, boolean defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!value.trim().equalsIgnoreCase("true") && !value.trim().equalsIgnoreCase("false")) {
+            throw new IllegalArgumentException("Invalid value for " + key + ": " + value);
+        }
+        return Boolean.parseBoolean(value.trim());
+    }
+
+    public TableRules withDealerHitsSoft17(boolean dealerHitsSoft17) {
+        return new TableRules(dealerHitsSoft17, blackjackPayout, lateSurrender, maxSplitHands, doubleAfterSplit,
+                dealerPeeks);
+    }
+
+    public TableRules withBlackjackPayout(double blackjackPayout) {
+        return new TableRules(dealerHitsSoft17, blackjackPayout, lateSurrender, maxSplitHands, doubleAfterSplit,
+                dealerPeeks);
+    }
+
+    public TableRules withLateSurrender(boolean lateSurrender) {
+        return new TableRules(dealerHitsSoft17, blackjackPayout, lateSurrender, maxSplitHands, doubleAfterSplit,
+                dealerPeeks);
+    }
+
+    public TableRules withMaxSplitHands(int maxSplitHands) {
+        return new TableRules(dealerHitsSoft17, blackjackPayout, lateSurrender, maxSplitHands, doubleAfterSplit,
+                dealerPeeks);
+    }
+
+    public TableRules withDoubleAfterSplit(boolean doubleAfterSplit) {
+        return new TableRules(dealerHitsSoft17, blackjackPayout, lateSurrender, maxSplitHands, doubleAfterSplit,
+                dealerPeeks);
+    }
+
+    public TableRules withDealerPeeks(boolean dealerPeeks) {
+        return new TableRules(dealerHitsSoft17, blackjackPayout, lateSurrender, maxSplitHands, doubleAfterSplit,
+                dealerPeeks);
+    }
+
+    public boolean dealerHits(int total, boolean soft) {
+        return dealerHits[(soft ? TOTALS : 0) + total];
+    }
+
+    // money returned per unit of a bet settled with this result, stake included
+    public double getPayoutMultiplier(Bet.BetResult result) {
+        return payoutMultipliers[result.ordinal()];
+    }
+
+    public boolean isDealerHitsSoft17() {
+        return dealerHitsSoft17;
+    }
+
+    public double getBlackjackPayout() {
+        return blackjackPayout;
+    }
+
+    public boolean isLateSurrender() {
+        return lateSurrender;
+    }
+
+    public int getMaxSplitHands() {
+        return maxSplitHands;
+    }
+
+    public boolean isDoubleAfterSplit() {
+        return doubleAfterSplit;
+    }
+
+    public boolean isDealerPeeks() {
+        return dealerPeeks;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof TableRules)) {
+            return false;
+        }
+        TableRules other = (TableRules) o;
+        return dealerHitsSoft17 == other.dealerHitsSoft17 && blackjackPayout == other.blackjackPayout
+                && lateSurrender == other.lateSurrender && maxSplitHands == other.maxSplitHands
+                && doubleAfterSplit == other.doubleAfterSplit && dealerPeeks == other.dealerPeeks;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Boolean.hashCode(dealerHitsSoft17);
+        hash = 31 * hash + Double.hashCode(blackjackPayout);
+        hash = 31 * hash + Boolean.hashCode(lateSurrender);
+        hash = 31 * hash + maxSplitHands;
+        hash = 31 * hash + Boolean.hashCode(doubleAfterSplit);
+        return 31 * hash + Boolean.hashCode(dealerPeeks);
+    }
+
+    // e.g. "H17 6:5 LS DAS max 4 ENHC"
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(dealerHitsSoft17 ? "H17" : "S17");
+        sb.append(blackjackPayout == 1.5 ? " 3:2" : blackjackPayout == 1.2 ? " 6:5" : " BJ pays " + blackjackPayout);
+        if (lateSurrender) {
+            sb.append(" LS");
+        }
+        sb.append(doubleAfterSplit ? " DAS" : " NDAS");
+        if (maxSplitHands != Integer.MAX_VALUE) {
+            sb.append(" max ").append(maxSplitHands);
+        }
+        sb.append(dealerPeeks ? " peek" : " ENHC");
+        return sb.toString();
+    }
+}
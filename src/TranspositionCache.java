@@ -0,0 +1,140 @@
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+// fixed size cache from 64-bit keys to a fixed number of doubles, e.g. the EVs of one decision
+// open addressed into sets of WAYS slots; a full set evicts with CLOCK, so entries read since the
+// hand last passed them get a second chance
+// keys, values and reference bits live in flat arrays, nothing is allocated per entry, and each
+// stripe of sets has its own lock so simulation workers can share one cache
+// a key is trusted as is, two different positions with the same 64-bit key would share an entry
+public class TranspositionCache {
+    private static final int WAYS = 8;
+    private static final int STRIPES = 64;
+
+    private static final byte EMPTY = 0;
+    private static final byte PRESENT = 1;
+    private static final byte REFERENCED = 2;
+
+    private final int valueWidth;
+    private final int setMask;
+    private final long[] keys;
+    private final byte[] states;
+    private final double[] values; // valueWidth doubles per slot
+    private final int[] clockHands; // per set, next slot CLOCK looks at
+    private final Object[] locks = new Object[STRIPES];
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // capacity is rounded up to a power of two of at least WAYS entries
+    public TranspositionCache(int capacity, int valueWidth) {
+        if (capacity < 1 || valueWidth < 1) {
+            throw new IllegalArgumentException("Capacity and value width must be positive");
+        }
+        int slots = Math.max(WAYS, Integer.highestOneBit(capacity - 1) << 1);
+        if (slots <= 0 || (long) slots * valueWidth > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Cache too large: " + capacity + " x " + valueWidth);
+        }
+        this.valueWidth = valueWidth;
+        this.setMask = slots / WAYS - 1;
+        this.keys = new long[slots];
+        this.states = new byte[slots];
+        this.values = new double[slots * valueWidth];
+        this.clockHands = new int[slots / WAYS];
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    // copies the cached values into out and returns true, or returns false if the key is not cached
+    public boolean get(long key, double[] out) {
+        int set = setOf(key);
+        int base = set * WAYS;
+        synchronized (locks[set & (STRIPES - 1)]) {
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (states[slot] != EMPTY && keys[slot] == key) {
+                    states[slot] = REFERENCED;
+                    System.arraycopy(values, slot * valueWidth, out, 0, valueWidth);
+                    hits.increment();
+                    return true;
+                }
+            }
+        }
+        misses.increment();
+        return false;
+    }
+
+    public void put(long key, double[] value) {
+        int set = setOf(key);
+        int base = set * WAYS;
+        synchronized (locks[set & (STRIPES - 1)]) {
+            int target = -1;
+            for (int slot = base; slot < base + WAYS; slot++) {
+                if (states[slot] != EMPTY && keys[slot] == key) {
+                    target = slot; // replace the stored values
+                    break;
+                }
+                if (target < 0 && states[slot] == EMPTY) {
+                    target = slot;
+                }
+            }
+            if (target < 0) {
+                target = base + evictSlot(set);
+                evictions.increment();
+            }
+            keys[target] = key;
+            states[target] = PRESENT;
+            System.arraycopy(value, 0, values, target * valueWidth, valueWidth);
+        }
+    }
+
+    // CLOCK over one full set: clears reference bits until it finds an entry without one
+    private int evictSlot(int set) {
+        int base = set * WAYS;
+        int hand = clockHands[set];
+        while (states[base + hand] == REFERENCED) {
+            states[base + hand] = PRESENT;
+            hand = (hand + 1) & (WAYS - 1);
+        }
+        clockHands[set] = (hand + 1) & (WAYS - 1);
+        return hand;
+    }
+
+    // keys are often xors of other hashes, so mix before picking a set
+    private int setOf(long key) {
+        long z = key * 0x9e3779b97f4a7c15L;
+        return (int) (z >>> 32) & setMask;
+    }
+
+    public void clear() {
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            synchronized (locks[stripe]) {
+                for (int set = stripe; set <= setMask; set += STRIPES) {
+                    Arrays.fill(states, set * WAYS, set * WAYS + WAYS, EMPTY);
+                    clockHands[set] = 0;
+                }
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    public int getValueWidth() {
+        return valueWidth;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+}
@@ -0,0 +1,143 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+// plays several rule / strategy variants on the very same shuffled shoes (common random numbers)
+// each shoe is shuffled once and dealt to every variant in turn, so the shuffle is shared and the
+// luck of the cards mostly cancels out of the differences between variants
+// like SimulationRunner.runShoes, results are bit-identical for any pool size
+public class VariantSweep {
+    private final ForkJoinPool pool;
+    private final int numDecks;
+    private final double betAmount;
+    private final List<Variant> variants;
+
+    public VariantSweep(int numDecks, double betAmount, List<Variant> variants) {
+        this(new ForkJoinPool(Runtime.getRuntime().availableProcessors()), numDecks, betAmount, variants);
+    }
+
+    // the first variant is the baseline the others are compared against
+    public VariantSweep(ForkJoinPool pool, int numDecks, double betAmount, List<Variant> variants) {
+        if (variants.isEmpty()) {
+            throw new IllegalArgumentException("At least one variant is required");
+        }
+        this.pool = pool;
+        this.numDecks = numDecks;
+        this.betAmount = betAmount;
+        this.variants = List.copyOf(variants);
+    }
+
+    public VariantSweepResult run(long masterSeed, long shoes, RandomAlgorithm algorithm) {
+        long start = System.nanoTime();
+        VariantSweepResult result = pool.invoke(new ShoeRangeTask<>(
+                (firstShoe, lastShoe) -> playShoes(masterSeed, algorithm, firstShoe, lastShoe),
+                VariantSweepResult::merge, 0, shoes));
+        result.setElapsedNanos(System.nanoTime() - start);
+        return result;
+    }
+
+    private VariantSweepResult playShoes(long masterSeed, RandomAlgorithm algorithm, long firstShoe, long lastShoe) {
+        int count = variants.size();
+        Game[] games = new Game[count];
+        RoundEngine[] engines = new RoundEngine[count];
+        for (int v = 0; v < count; v++) {
+            Variant variant = variants.get(v);
+            games[v] = new Game(numDecks, SimulationRunner.SIMULATION_BANKROLL, betAmount, algorithm.create(masterSeed),
+                    variant.rules);
+            engines[v] = new RoundEngine(games[v], variant.strategyFactory.apply(games[v]));
+        }
+
+        VariantSweepResult result = new VariantSweepResult(names());
+        int[] shuffled = new int[numDecks * Card.NUM_CARDS];
+        int[] copy = new int[shuffled.length];
+        double[] shoeNet = new double[count];
+        for (long shoe = firstShoe; shoe < lastShoe; shoe++) {
+            Deck.fillShoe(shuffled, numDecks);
+            Deck.shuffle(shuffled, 0, shuffled.length, algorithm.create(SimulationRunner.shoeSeed(masterSeed, shoe)));
+            for (int v = 0; v < count; v++) {
+                System.arraycopy(shuffled, 0, copy, 0, shuffled.length);
+                // the game deals from the copy, the array it gives back is the next copy
+                copy = games[v].startNewShoe(copy);
+                shoeNet[v] = 0;
+                while (!games[v].isReshuffleDue()) {
+                    double net = engines[v].playRound(betAmount);
+                    result.getResult(v).recordRound(betAmount, net);
+                    shoeNet[v] += net;
+                }
+            }
+            result.recordShoe(betAmount, shoeNet);
+        }
+        return result;
+    }
+
+    private List<String> names() {
+        List<String> names = new ArrayList<>();
+        for (Variant variant : variants) {
+            names.add(variant.name);
+        }
+        return names;
+    }
+
+    public List<Variant> getVariants() {
+        return variants;
+    }
+
+    // one set of house rules and the strategy played under them
+    public static final class Variant {
+        private final String name;
+        private final TableRules rules;
+        private final Function<Game, PlayerStrategy> strategyFactory;
+
+        // the factory is called once per worker and may read that worker's game
+        public Variant(String name, TableRules rules, Function<Game, PlayerStrategy> strategyFactory) {
+            this.name = name;
+            this.rules = rules;
+            this.strategyFactory = strategyFactory;
+        }
+
+        // the rules with the built-in basic strategy chart for them
+        public static Variant basicStrategy(TableRules rules) {
+            BasicStrategy strategy = BasicStrategy.forRules(rules);
+            return new Variant(rules.toString(), rules, game -> strategy);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public TableRules getRules() {
+            return rules;
+        }
+
+        public Function<Game, PlayerStrategy> getStrategyFactory() {
+            return strategyFactory;
+        }
+    }
+
+    // usage: VariantSweep [shoes] [numDecks] [seed] [rules.properties ...]
+    // without rules files, compares the standard rules with dealer hits soft 17
+    public static void main(String[] args) throws IOException {
+        long shoes = args.length > 0 ? Long.parseLong(args[0]) : 100_000L;
+        int numDecks = args.length > 1 ? Integer.parseInt(args[1]) : 6;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 1;
+
+        List<Variant> variants = new ArrayList<>();
+        for (int i = 3; i < args.length; i++) {
+            TableRules rules = TableRules.load(Path.of(args[i]));
+            BasicStrategy strategy = BasicStrategy.forRules(rules);
+            variants.add(new Variant(args[i] + " (" + rules + ")", rules, game -> strategy));
+        }
+        if (variants.isEmpty()) {
+            variants.add(Variant.basicStrategy(TableRules.STANDARD));
+            variants.add(Variant.basicStrategy(TableRules.STANDARD.withDealerHitsSoft17(true)));
+        }
+
+        VariantSweep sweep = new VariantSweep(numDecks, 10, variants);
+        System.out.println("Running " + shoes + " shoes from seed " + seed + " for " + variants.size()
+                + " variants on " + sweep.pool.getParallelism() + " workers...");
+        System.out.println(sweep.run(seed, shoes, RandomAlgorithm.L64X128_MIX));
+    }
+}
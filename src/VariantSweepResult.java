@@ -0,0 +1,114 @@
+import java.util.List;
+
+// results of a VariantSweep: each variant's own totals, plus every variant's difference from the
+// baseline (variant 0) paired shoe by shoe, which is where common random numbers pay off
+public class VariantSweepResult {
+    private final List<String> names;
+    private final SimulationResult[] results;
+    private long shoes;
+    // per variant, sums over shoes of (variant's net - baseline's net) in units of the bet
+    private final double[] sumOfDifferences;
+    private final double[] sumOfSquaredDifferences;
+    private long elapsedNanos;
+
+    public VariantSweepResult(List<String> names) {
+        this.names = List.copyOf(names);
+        this.results = new SimulationResult[names.size()];
+        for (int v = 0; v < results.length; v++) {
+            results[v] = new SimulationResult();
+        }
+        this.sumOfDifferences = new double[names.size()];
+        this.sumOfSquaredDifferences = new double[names.size()];
+    }
+
+    // net won by each variant over one shoe, rounds are recorded on getResult(v) as they are played
+    public void recordShoe(double betAmount, double[] shoeNet) {
+        shoes++;
+        for (int v = 1; v < results.length; v++) {
+            double difference = (shoeNet[v] - shoeNet[0]) / betAmount;
+            sumOfDifferences[v] += difference;
+            sumOfSquaredDifferences[v] += difference * difference;
+        }
+    }
+
+    // combines another worker's results into this one
+    public VariantSweepResult merge(VariantSweepResult other) {
+        shoes += other.shoes;
+        for (int v = 0; v < results.length; v++) {
+            results[v].merge(other.results[v]);
+            sumOfDifferences[v] += other.sumOfDifferences[v];
+            sumOfSquaredDifferences[v] += other.sumOfSquaredDifferences[v];
+        }
+        return this;
+    }
+
+    public int getVariantCount() {
+        return results.length;
+    }
+
+    public String getName(int variant) {
+        return names.get(variant);
+    }
+
+    public SimulationResult getResult(int variant) {
+        return results[variant];
+    }
+
+    public long getShoes() {
+        return shoes;
+    }
+
+    // expected return of the variant minus the baseline's
+    public double getDifference(int variant) {
+        return results[variant].getExpectedReturn() - results[0].getExpectedReturn();
+    }
+
+    // standard error of getDifference from the spread of the paired per-shoe differences
+    public double getDifferenceStandardError(int variant) {
+        if (shoes < 2 || results[0].getRounds() == 0) {
+            return 0;
+        }
+        double mean = sumOfDifferences[variant] / shoes;
+        double variance = Math.max(0, sumOfSquaredDifferences[variant] / shoes - mean * mean);
+        double roundsPerShoe = results[0].getRounds() / (double) shoes;
+        return Math.sqrt(variance / shoes) / roundsPerShoe;
+    }
+
+    // standard error getDifference would have if the two runs had been dealt independent shoes
+    public double getIndependentStandardError(int variant) {
+        return Math.sqrt(varianceOfReturn(results[variant]) + varianceOfReturn(results[0]));
+    }
+
+    private static double varianceOfReturn(SimulationResult result) {
+        if (result.getRounds() == 0) {
+            return 0;
+        }
+        double averageBet = result.getTotalBet() / result.getRounds();
+        double deviation = result.getStandardDeviationPerRound() / averageBet;
+        return deviation * deviation / result.getRounds();
+    }
+
+    public void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+        for (SimulationResult result : results) {
+            result.setElapsedNanos(elapsedNanos);
+        }
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(String.format("shoes=%d elapsed=%.2fs", shoes, elapsedNanos / 1e9));
+        for (int v = 0; v < results.length; v++) {
+            sb.append(System.lineSeparator()).append(names.get(v)).append(": ").append(results[v]);
+            if (v > 0) {
+                sb.append(String.format("%n  vs %s: %+.5f +/- %.5f (independent shoes +/- %.5f)", names.get(0),
+                        getDifference(v), getDifferenceStandardError(v), getIndependentStandardError(v)));
+            }
+        }
+        return sb.toString();
+    }
+}